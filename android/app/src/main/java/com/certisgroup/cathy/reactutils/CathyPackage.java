@@ -18,6 +18,8 @@ import com.certisgroup.cathy.reactutils.modules.NavigationBarModule;
 import com.certisgroup.cathy.reactutils.modules.SoftInputModeModule;
 import com.certisgroup.cathy.reactutils.modules.crypto.AesModule;
 import com.certisgroup.cathy.reactutils.modules.crypto.DigestModule;
+import com.certisgroup.cathy.reactutils.modules.crypto.HmacModule;
+import com.certisgroup.cathy.reactutils.modules.crypto.KdfModule;
 import com.certisgroup.cathy.reactutils.modules.crypto.RsaModule;
 import com.certisgroup.cathy.reactutils.views.gridlist.GridListManager;
 import com.facebook.react.ReactPackage;
@@ -53,7 +55,9 @@ public class CathyPackage implements ReactPackage {
             new SoftInputModeModule(reactContext),
             new AesModule(reactContext),
             new DigestModule(reactContext),
-            new RsaModule(reactContext)
+            new RsaModule(reactContext),
+            new HmacModule(reactContext),
+            new KdfModule(reactContext)
         );
     }
 }
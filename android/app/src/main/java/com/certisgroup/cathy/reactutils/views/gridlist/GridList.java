@@ -11,25 +11,39 @@
 package com.certisgroup.cathy.reactutils.views.gridlist;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.text.TextUtils;
 import android.util.AttributeSet;
+import android.util.SparseIntArray;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DefaultItemAnimator;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * RN component of grid list view
@@ -38,45 +52,209 @@ import java.util.List;
  */
 public class GridList extends RecyclerView {
 
-    static final String ON_BIND = "onBindItem";
-    static final String ON_MOVE = "onMoveItem";
-    private final GridLayoutManager layoutManager;
+    static final String ON_BIND_ITEMS = "onBindItems";
+    static final String ON_MOVE_COMMITTED = "onMoveCommitted";
+    static final String ON_REQUEST_ITEMS = "onRequestItems";
+    static final String ON_PRESS_ITEM = "onPressItem";
+    static final String ON_SCROLL_METRICS = "onScrollMetrics";
+    static final String LAYOUT_GRID = "grid";
+    static final String LAYOUT_LINEAR = "linear";
+    static final String LAYOUT_STAGGERED = "staggered";
+    private static final int VIEW_TYPE_REACT = 0;
+    private static final int VIEW_TYPE_NATIVE = 1;
+    private static final int VIEW_TYPE_HEADER = 2;
+    private static final Executor DIFF_EXECUTOR = Executors.newSingleThreadExecutor(
+        runnable -> {
+            Thread thread = new Thread(runnable, "gridlist-diff");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private final GridListLayoutManager layoutManager;
+    private StaggeredListLayoutManager staggeredLayoutManager;
     private final GridAdapter adapter;
     private final GridDragAdapter dragAdapter;
     private final ItemTouchHelper touchHelper;
     private final SpacingDecoration spacingDecoration;
+    private final StickyHeaderDecoration stickyHeaderDecoration;
+    private final Runnable measureAndLayout;
+    private boolean layoutPosted;
+    private ScrollMetrics metrics;
+    /** icon prefetches held for the current range by cache key */
+    private final Map<String, IconLoader.Prefetch> prefetchedIcons;
+    private final Map<String, IconLoader.Prefetch> wantedIcons;
+    private int iconRangeStart;
+    private int iconRangeEnd;
+    private NativeItemData iconRangeData;
+    private String layout;
+    private int numColumns;
+    private int prefetchItemCount;
     private float scale;
 
     public GridList(@NonNull Context context, @Nullable AttributeSet attrs) {
         super(context, attrs);
         this.setHasFixedSize(true);
-        layoutManager = new GridLayoutManager(context, 1);
+        layout = LAYOUT_GRID;
+        numColumns = 1;
+        layoutManager = new GridListLayoutManager(context, numColumns);
         this.setLayoutManager(layoutManager);
         adapter = new GridAdapter();
+        GridLayoutManager.SpanSizeLookup spanSizeLookup = new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                return Math.min(adapter.getSpanSize(position), layoutManager.getSpanCount());
+            }
+        };
+        spanSizeLookup.setSpanIndexCacheEnabled(true);
+        spanSizeLookup.setSpanGroupIndexCacheEnabled(true);
+        layoutManager.setSpanSizeLookup(spanSizeLookup);
         this.setAdapter(adapter);
+        this.setItemAnimator(new GridItemAnimator());
+        // a dropped holder takes its React child with it, so the pool must never overflow
+        this.getRecycledViewPool().setMaxRecycledViews(VIEW_TYPE_REACT, Integer.MAX_VALUE);
         dragAdapter = new GridDragAdapter();
         touchHelper = new ItemTouchHelper(dragAdapter);
         touchHelper.attachToRecyclerView(this);
         spacingDecoration = new SpacingDecoration();
         this.addItemDecoration(spacingDecoration);
+        stickyHeaderDecoration = new StickyHeaderDecoration();
+        this.addItemDecoration(stickyHeaderDecoration);
         this.setClipToPadding(false);
         this.setScrollBarStyle(SCROLLBARS_OUTSIDE_OVERLAY);
         scale = this.getResources().getDisplayMetrics().density;
+        prefetchedIcons = new HashMap<>();
+        wantedIcons = new HashMap<>();
+        measureAndLayout = () -> {
+            layoutPosted = false;
+            this.measure(
+                MeasureSpec.makeMeasureSpec(this.getWidth(), MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(this.getHeight(), MeasureSpec.EXACTLY));
+            this.layout(this.getLeft(), this.getTop(), this.getRight(), this.getBottom());
+        };
         this.setRowHeight(56.0f);
         setHorizontalSpacing(16.0f);
     }
 
+    /**
+     * Takes effect in commitDataSet, together with the data and keys of the same update
+     */
     void setItemCount(int itemCount) {
-        adapter.itemCount = itemCount;
+        adapter.pendingItemCount = itemCount;
     }
 
     void setRowHeight(float rowHeight) {
         adapter.rowHeight = (int) (rowHeight * scale + 0.5f);
     }
 
+    /**
+     * Grid, linear or staggered. All three share the adapter, recycling and events,
+     * a linear list is a grid of one column
+     */
+    void setLayout(@Nullable String layout) {
+        String newLayout = layout != null ? layout : LAYOUT_GRID;
+        if (newLayout.equals(this.layout)) {
+            return;
+        }
+        this.layout = newLayout;
+        if (LAYOUT_STAGGERED.equals(newLayout)) {
+            if (staggeredLayoutManager == null) {
+                staggeredLayoutManager = new StaggeredListLayoutManager(numColumns);
+                staggeredLayoutManager.setPrefetchItemCount(prefetchItemCount);
+            }
+            this.setLayoutManager(staggeredLayoutManager);
+        } else {
+            this.setLayoutManager(layoutManager);
+        }
+        spacingDecoration.invalidateRows();
+        this.applySpanCount();
+    }
+
     void setNumColumns(int numColumns) {
-        layoutManager.setSpanCount(numColumns);
-        spacingDecoration.numColumns = numColumns;
+        this.numColumns = Math.max(numColumns, 1);
+        this.applySpanCount();
+    }
+
+    private void applySpanCount() {
+        int spanCount = this.getSpanCount();
+        layoutManager.setSpanCount(spanCount);
+        if (staggeredLayoutManager != null) {
+            staggeredLayoutManager.setSpanCount(spanCount);
+        }
+        if (spacingDecoration.setNumColumns(spanCount)) {
+            this.invalidateItemDecorations();
+        }
+    }
+
+    int getSpanCount() {
+        return LAYOUT_LINEAR.equals(layout) ? 1 : numColumns;
+    }
+
+    boolean isStaggered() {
+        return this.getLayoutManager() == staggeredLayoutManager;
+    }
+
+    void setPrefetchItemCount(int prefetchItemCount) {
+        this.prefetchItemCount = prefetchItemCount;
+        layoutManager.setPrefetchItemCount(prefetchItemCount);
+        if (staggeredLayoutManager != null) {
+            staggeredLayoutManager.setPrefetchItemCount(prefetchItemCount);
+        }
+    }
+
+    /**
+     * Not supported by the staggered layout
+     */
+    void setExtraLayoutSpace(float extraLayoutSpace) {
+        layoutManager.setExtraLayoutSpace((int) (extraLayoutSpace * scale + 0.5f));
+    }
+
+    /**
+     * Columns taken by each position, 1 for positions past the end
+     */
+    void setSpanSizes(@Nullable ReadableArray spanSizes) {
+        adapter.pendingSpanSizes = toIntArray(spanSizes, 1);
+    }
+
+    /**
+     * Height of each position in dp, rowHeight for positions past the end or given as 0
+     */
+    void setRowHeights(@Nullable ReadableArray rowHeights) {
+        adapter.pendingRowHeights = toIntArray(rowHeights, scale);
+    }
+
+    @Nullable
+    private static int[] toIntArray(@Nullable ReadableArray array, float scale) {
+        if (array == null) {
+            return null;
+        }
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) (array.getDouble(i) * scale + 0.5f);
+        }
+        return values;
+    }
+
+    @Nullable
+    private static int[] permute(@Nullable int[] values, int[] order) {
+        if (values == null) {
+            return null;
+        }
+        int[] permuted = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = order[i] < values.length ? values[order[i]] : 0;
+        }
+        return permuted;
+    }
+
+    @Nullable
+    private static String[] permute(@Nullable String[] values, int[] order) {
+        if (values == null) {
+            return null;
+        }
+        String[] permuted = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = order[i] < values.length ? values[order[i]] : null;
+        }
+        return permuted;
     }
 
     void setDragEnabled(boolean dragEnabled) {
@@ -84,11 +262,17 @@ public class GridList extends RecyclerView {
     }
 
     void setVerticalSpacing(float verticalSpacing) {
-        spacingDecoration.verticalSpacing = (int) (verticalSpacing * scale + 0.5f);
+        int spacing = (int) (verticalSpacing * scale + 0.5f);
+        if (spacingDecoration.verticalSpacing != spacing) {
+            spacingDecoration.verticalSpacing = spacing;
+            this.invalidateItemDecorations();
+        }
     }
 
     void setHorizontalSpacing(float horizontalSpacing) {
-        spacingDecoration.horizontalSpacing = (int) (horizontalSpacing * scale + 0.5f);
+        if (spacingDecoration.setHorizontalSpacing((int) (horizontalSpacing * scale + 0.5f))) {
+            this.invalidateItemDecorations();
+        }
     }
 
     void setPaddingInsets(ReadableMap padding) {
@@ -100,6 +284,98 @@ public class GridList extends RecyclerView {
         );
     }
 
+    /**
+     * Template of natively bound items, null turns native binding off
+     */
+    void setItemTemplate(@Nullable ReadableMap itemTemplate) {
+        adapter.itemTemplate = itemTemplate != null ? new ItemTemplate(itemTemplate, scale) : null;
+    }
+
+    void setNativeData(@Nullable ReadableMap nativeData) {
+        adapter.pendingNativeData = nativeData != null ? new NativeItemData(nativeData) : null;
+    }
+
+    /**
+     * Positions of the section headers and their titles, headers are rendered natively
+     * after the header template and take a full row
+     */
+    void setSections(@Nullable ReadableMap sections) {
+        adapter.pendingSections = sections != null ? new SectionData(sections) : null;
+    }
+
+    void setHeaderTemplate(@Nullable ReadableMap headerTemplate) {
+        adapter.headerTemplate = headerTemplate != null ? new HeaderTemplate(headerTemplate, scale) : null;
+    }
+
+    void setStickyHeaders(boolean stickyHeaders) {
+        stickyHeaderDecoration.enabled = stickyHeaders;
+        this.invalidate();
+    }
+
+    /**
+     * Stable item keys, when set data set updates are diffed instead of refreshed as a whole
+     */
+    void setItemKeys(@Nullable ReadableArray itemKeys) {
+        String[] keys = null;
+        if (itemKeys != null) {
+            keys = new String[itemKeys.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = itemKeys.getString(i);
+            }
+        }
+        adapter.pendingKeys = keys;
+    }
+
+    /**
+     * Collect scroll metrics and report them at the end of every scroll gesture
+     */
+    void setMetricsEnabled(boolean metricsEnabled) {
+        if (!metricsEnabled) {
+            if (metrics != null) {
+                metrics.stop();
+            }
+            metrics = null;
+        } else if (metrics == null) {
+            metrics = new ScrollMetrics();
+        }
+    }
+
+    void commitDataSet() {
+        adapter.commitDataSet();
+    }
+
+    void refreshDataSet() {
+        adapter.notifyDataSetChanged();
+    }
+
+    /**
+     * Range updates of keyed data sets are worked out by the diff in commitDataSet,
+     * reporting them as well would apply them twice
+     */
+    void insertRange(int position, int count) {
+        if (adapter.keys == null) {
+            adapter.notifyItemRangeInserted(position, count);
+        }
+    }
+
+    void removeRange(int position, int count) {
+        if (adapter.keys == null) {
+            adapter.notifyItemRangeRemoved(position, count);
+        }
+    }
+
+    void moveItem(int fromPosition, int toPosition) {
+        if (adapter.keys == null) {
+            adapter.notifyItemMoved(fromPosition, toPosition);
+        }
+    }
+
+    void changeRange(int position, int count) {
+        if (adapter.keys == null) {
+            adapter.notifyItemRangeChanged(position, count);
+        }
+    }
+
     void addReactChildView(View child) {
         adapter.addItemView(child);
     }
@@ -113,14 +389,154 @@ public class GridList extends RecyclerView {
         return false;
     }
 
+    /**
+     * React Native lays out only on its own passes, run the requested layout ourselves
+     * so item updates and animations show up
+     */
+    @Override
+    public void requestLayout() {
+        super.requestLayout();
+        // requests made before the posted pass runs are served by it
+        if (measureAndLayout != null && !layoutPosted) {
+            layoutPosted = true;
+            this.post(measureAndLayout);
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        adapter.syncBoundPositions();
+        this.prefetchIcons(0);
+    }
+
+    @Override
+    public void onScrolled(int dx, int dy) {
+        super.onScrolled(dx, dy);
+        this.prefetchIcons(dy);
+    }
+
+    /**
+     * Icons of natively bound items are decoded for the visible range and a screen ahead
+     * in the scroll direction before they are bound. Prefetches falling out of the range
+     * are cancelled.
+     */
+    private void prefetchIcons(int dy) {
+        int first;
+        int last;
+        if (this.isStaggered()) {
+            first = staggeredLayoutManager.findFirstVisibleItemPosition();
+            last = staggeredLayoutManager.findLastVisibleItemPosition();
+        } else {
+            first = layoutManager.findFirstVisibleItemPosition();
+            last = layoutManager.findLastVisibleItemPosition();
+        }
+        if (adapter.itemTemplate == null || adapter.nativeData == null || first == NO_POSITION) {
+            first = 0;
+            last = -1;
+        }
+        int ahead = Math.max(last - first + 1, prefetchItemCount);
+        int start = dy < 0 ? Math.max(first - ahead, 0) : first;
+        int end = dy < 0 ? last : Math.min(last + ahead, adapter.getItemCount() - 1);
+        if (dy == 0 && first >= iconRangeStart && last <= iconRangeEnd && adapter.nativeData == iconRangeData) {
+            // still within the range of the last scroll
+            return;
+        }
+        if (start == iconRangeStart && end == iconRangeEnd && adapter.nativeData == iconRangeData) {
+            return;
+        }
+        iconRangeStart = start;
+        iconRangeEnd = end;
+        iconRangeData = adapter.nativeData;
+        IconLoader iconLoader = IconLoader.getInstance(this.getContext());
+        int iconSize = adapter.itemTemplate != null ? adapter.itemTemplate.iconSize : 0;
+        for (int position = start; position <= end; position++) {
+            IconLoader.Prefetch prefetch = iconLoader.prefetch(adapter.getNativeIcon(position), iconSize);
+            // hold one prefetch per icon, an icon shown by several items gives the rest back
+            if (prefetch == null) {
+                continue;
+            }
+            if (wantedIcons.containsKey(prefetch.key)) {
+                iconLoader.cancelPrefetch(prefetch);
+            } else {
+                wantedIcons.put(prefetch.key, prefetch);
+            }
+        }
+        // prefetches of the new range are taken first, so icons in both keep decoding
+        for (IconLoader.Prefetch prefetch : prefetchedIcons.values()) {
+            iconLoader.cancelPrefetch(prefetch);
+        }
+        prefetchedIcons.clear();
+        prefetchedIcons.putAll(wantedIcons);
+        wantedIcons.clear();
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        super.onScrollStateChanged(state);
+        if (metrics == null) {
+            return;
+        }
+        if (state != SCROLL_STATE_IDLE) {
+            metrics.start(this.getDisplay());
+            return;
+        }
+        WritableMap event = metrics.stop();
+        if (event != null) {
+            this.getEventEmitter().receiveEvent(this.getId(), ON_SCROLL_METRICS, event);
+        }
+    }
+
+    /**
+     * Only called from Android 8 on, bind latency is not collected on older devices
+     */
+    @Override
+    public void onDescendantInvalidated(@NonNull View child, @NonNull View target) {
+        super.onDescendantInvalidated(child, target);
+        if (metrics != null) {
+            metrics.onReactChildInvalidated(child);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+
     //**************************************************************
     // Implement ViewHolder
     //****************************************************************
 
     private static class GridViewHolder extends RecyclerView.ViewHolder {
 
+        /** last position reported to JS for a React child */
+        int boundPosition;
+
         GridViewHolder(@NonNull View itemView) {
             super(itemView);
+            boundPosition = NO_POSITION;
+        }
+
+        boolean hasReactChild() {
+            return !(itemView instanceof NativeItemView) && itemView.getTag() != null;
+        }
+    }
+
+    /**
+     * Changed items keep their holder, React children are never recreated.
+     * Only placeholders are swapped for a fresh holder.
+     */
+    private static class GridItemAnimator extends DefaultItemAnimator {
+
+        @Override
+        public boolean canReuseUpdatedViewHolder(@NonNull ViewHolder viewHolder,
+                                                 @NonNull List<Object> payloads) {
+            return viewHolder.itemView instanceof NativeItemView
+                || viewHolder.itemView instanceof SectionHeaderView
+                || viewHolder.itemView.getTag() != null;
         }
     }
 
@@ -132,12 +548,42 @@ public class GridList extends RecyclerView {
 
         private GridList gridList;
         private final List<View> itemViews;
+        private final List<GridViewHolder> placeholders;
+        private final Runnable requestItemViews;
+        private final Runnable rebindPlaceholders;
+        private final SparseIntArray pendingBinds;
+        private final Choreographer.FrameCallback dispatchBinds;
+        private boolean bindsPosted;
+        private boolean requestPosted;
+        private boolean rebindPosted;
+        private int outstandingCount;
+        private int itemCount;
+        private NativeItemData nativeData;
+        private SectionData sections;
+        private String[] keys;
+        private int[] spanSizes;
+        private int[] rowHeights;
+        private int diffGeneration;
+        /** data position of the item at each position while dragging, null otherwise */
+        private int[] dragOrder;
         int rowHeight;
-        int itemCount;
+        ItemTemplate itemTemplate;
+        int pendingItemCount;
+        HeaderTemplate headerTemplate;
+        NativeItemData pendingNativeData;
+        SectionData pendingSections;
+        String[] pendingKeys;
+        int[] pendingSpanSizes;
+        int[] pendingRowHeights;
 
         GridAdapter() {
             super();
             itemViews = new ArrayList<>();
+            placeholders = new ArrayList<>();
+            requestItemViews = this::requestItemViews;
+            rebindPlaceholders = this::rebindPlaceholders;
+            pendingBinds = new SparseIntArray();
+            dispatchBinds = frameTimeNanos -> this.dispatchBinds();
             itemCount = 0;
         }
 
@@ -146,10 +592,60 @@ public class GridList extends RecyclerView {
             gridList = (GridList) recyclerView;
         }
 
+        @Override
+        public int getItemViewType(int position) {
+            if (this.isHeader(position)) {
+                return VIEW_TYPE_HEADER;
+            }
+            return itemTemplate != null && nativeData != null && !nativeData.isCustom(this.getDataPosition(position))
+                ? VIEW_TYPE_NATIVE : VIEW_TYPE_REACT;
+        }
+
         @NonNull
         @Override
         public GridViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            if (gridList.metrics != null) {
+                gridList.metrics.onHolderCreated();
+            }
+            if (viewType == VIEW_TYPE_HEADER) {
+                SectionHeaderView view = new SectionHeaderView(parent.getContext());
+                view.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, headerTemplate.height));
+                return new GridViewHolder(view);
+            }
+            if (viewType == VIEW_TYPE_NATIVE) {
+                NativeItemView view = new NativeItemView(parent.getContext());
+                view.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, rowHeight));
+                GridViewHolder holder = new GridViewHolder(view);
+                view.setOnPressListener(v -> {
+                    int position = holder.getBindingAdapterPosition();
+                    if (position != NO_POSITION) {
+                        WritableMap event = Arguments.createMap();
+                        event.putInt("position", position);
+                        // JS may not have this order yet, the key still names the item
+                        int dataPosition = getDataPosition(position);
+                        if (keys != null && dataPosition < keys.length) {
+                            event.putString("key", keys[dataPosition]);
+                        }
+                        gridList.getEventEmitter().receiveEvent(gridList.getId(),
+                            GridList.ON_PRESS_ITEM, event);
+                    }
+                });
+                return holder;
+            }
             int index = itemViews.size() - 1;
+            if (index < 0) {
+                // out of React children, stand in with an empty view and ask JS for more
+                View view = new View(parent.getContext());
+                view.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, rowHeight));
+                GridViewHolder placeholder = new GridViewHolder(view);
+                placeholder.setIsRecyclable(false);
+                placeholders.add(placeholder);
+                if (!requestPosted) {
+                    requestPosted = true;
+                    gridList.post(requestItemViews);
+                }
+                return placeholder;
+            }
             View view = itemViews.get(index);
             view.setTag(index);
             view.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, rowHeight));
@@ -159,11 +655,63 @@ public class GridList extends RecyclerView {
 
         @Override
         public void onBindViewHolder(@NonNull GridViewHolder viewHolder, int position) {
-            int index = (Integer) viewHolder.itemView.getTag();
-            WritableMap event = Arguments.createMap();
-            event.putInt("index", index);
-            event.putInt("position", position);
-            gridList.getEventEmitter().receiveEvent(gridList.getId(), GridList.ON_BIND, event);
+            int height = this.getRowHeight(position);
+            ViewGroup.LayoutParams params = viewHolder.itemView.getLayoutParams();
+            boolean changed = params.height != height;
+            if (gridList.isStaggered()) {
+                if (!(params instanceof StaggeredGridLayoutManager.LayoutParams)) {
+                    params = new StaggeredGridLayoutManager.LayoutParams(params);
+                    changed = true;
+                }
+                StaggeredGridLayoutManager.LayoutParams staggeredParams = (StaggeredGridLayoutManager.LayoutParams) params;
+                boolean fullSpan = this.getSpanSize(position) >= gridList.getSpanCount();
+                if (staggeredParams.isFullSpan() != fullSpan) {
+                    staggeredParams.setFullSpan(fullSpan);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                params.height = height;
+                viewHolder.itemView.setLayoutParams(params);
+            }
+            if (viewHolder.itemView instanceof SectionHeaderView) {
+                ((SectionHeaderView) viewHolder.itemView).bind(headerTemplate, this.getSectionTitle(position));
+                return;
+            }
+            if (viewHolder.itemView instanceof NativeItemView) {
+                // filled in right here, no round trip to JS
+                ((NativeItemView) viewHolder.itemView).bind(itemTemplate, nativeData, this.getDataPosition(position));
+                return;
+            }
+            Object tag = viewHolder.itemView.getTag();
+            if (tag == null) {
+                return;
+            }
+            viewHolder.boundPosition = position;
+            this.queueBind(viewHolder);
+        }
+
+        /**
+         * Holders moved by an update or kept in the cache change position without a rebind,
+         * JS still has to be told
+         */
+        @Override
+        public void onViewAttachedToWindow(@NonNull GridViewHolder holder) {
+            this.syncBoundPosition(holder);
+        }
+
+        @Override
+        public void onViewRecycled(@NonNull GridViewHolder holder) {
+            if (holder.itemView instanceof NativeItemView) {
+                // pooled views wait for no icon
+                ((NativeItemView) holder.itemView).recycle();
+            }
+        }
+
+        @Override
+        public boolean onFailedToRecycleView(@NonNull GridViewHolder holder) {
+            // React children are never recreated, keep them even with transient state
+            return holder.hasReactChild();
         }
 
         @Override
@@ -171,8 +719,384 @@ public class GridList extends RecyclerView {
             return itemCount;
         }
 
+        int getSpanSize(int position) {
+            if (this.isHeader(position)) {
+                return Integer.MAX_VALUE;
+            }
+            position = this.getDataPosition(position);
+            return spanSizes != null && position < spanSizes.length ? Math.max(spanSizes[position], 1) : 1;
+        }
+
+        int getRowHeight(int position) {
+            position = this.getDataPosition(position);
+            int height = rowHeights != null && position < rowHeights.length ? rowHeights[position] : 0;
+            if (height <= 0 && headerTemplate != null && sections != null && sections.isHeader(position)) {
+                return headerTemplate.height;
+            }
+            return height > 0 ? height : rowHeight;
+        }
+
+        /**
+         * Headers are rendered natively only with a header template
+         */
+        boolean isHeader(int position) {
+            return headerTemplate != null && sections != null && sections.isHeader(this.getDataPosition(position));
+        }
+
+        /**
+         * @return section position belongs to, -1 without sections or ahead of the first header
+         */
+        int getSectionIndex(int position) {
+            return headerTemplate != null && sections != null
+                ? sections.getSectionIndex(this.getDataPosition(position)) : -1;
+        }
+
+        @Nullable
+        String getNativeIcon(int position) {
+            if (itemTemplate == null || nativeData == null || this.isHeader(position)) {
+                return null;
+            }
+            int dataPosition = this.getDataPosition(position);
+            return nativeData.isCustom(dataPosition) ? null : nativeData.getIcon(dataPosition);
+        }
+
+        @Nullable
+        String getSectionTitle(int position) {
+            int section = this.getSectionIndex(position);
+            return section >= 0 ? sections.getTitle(section) : null;
+        }
+
         void addItemView(View child) {
             itemViews.add(child);
+            if (outstandingCount > 0) {
+                outstandingCount--;
+            }
+            if (!placeholders.isEmpty() && !rebindPosted) {
+                rebindPosted = true;
+                gridList.post(rebindPlaceholders);
+            }
+        }
+
+        void syncBoundPositions() {
+            for (int i = 0; i < gridList.getChildCount(); i++) {
+                this.syncBoundPosition((GridViewHolder) gridList.getChildViewHolder(gridList.getChildAt(i)));
+            }
+        }
+
+        private void syncBoundPosition(GridViewHolder holder) {
+            int position = holder.getLayoutPosition();
+            if (holder.hasReactChild() && position != NO_POSITION && position != holder.boundPosition) {
+                holder.boundPosition = position;
+                // dragging moves items, not their data, JS learns the new order on commit
+                if (dragOrder == null) {
+                    this.queueBind(holder);
+                }
+            }
+        }
+
+        /**
+         * Position in the data set of the item shown at position, they differ only while dragging
+         */
+        private int getDataPosition(int position) {
+            return dragOrder != null && position < dragOrder.length ? dragOrder[position] : position;
+        }
+
+        /**
+         * Moves the dragged item natively only, JS gets the whole move once the drag ends
+         */
+        void moveDragged(int fromPosition, int toPosition) {
+            if (fromPosition == NO_POSITION || toPosition == NO_POSITION) {
+                return;
+            }
+            if (dragOrder == null) {
+                dragOrder = new int[itemCount];
+                for (int i = 0; i < itemCount; i++) {
+                    dragOrder[i] = i;
+                }
+            }
+            int moved = dragOrder[fromPosition];
+            if (fromPosition < toPosition) {
+                System.arraycopy(dragOrder, fromPosition + 1, dragOrder, fromPosition, toPosition - fromPosition);
+            } else {
+                System.arraycopy(dragOrder, toPosition, dragOrder, toPosition + 1, fromPosition - toPosition);
+            }
+            dragOrder[toPosition] = moved;
+            gridList.spacingDecoration.invalidateRows();
+            this.notifyItemMoved(fromPosition, toPosition);
+        }
+
+        /**
+         * Takes the dragged order as the data set order and reports the move to JS
+         */
+        void commitDrag() {
+            int[] order = dragOrder;
+            if (order == null) {
+                return;
+            }
+            dragOrder = null;
+            // a drag moves a single item, every other item keeps its relative order
+            int fromPosition = NO_POSITION;
+            int toPosition = NO_POSITION;
+            for (int i = 0; i < order.length && fromPosition == NO_POSITION; i++) {
+                if (order[i] == i + 1) {
+                    // moved forward, the items after it shifted back
+                    fromPosition = i;
+                    toPosition = this.findPosition(order, i);
+                } else if (order[i] != i) {
+                    fromPosition = order[i];
+                    toPosition = i;
+                }
+            }
+            if (fromPosition == NO_POSITION) {
+                return;
+            }
+            String[] oldKeys = keys;
+            NativeItemData oldNativeData = nativeData;
+            SectionData oldSections = sections;
+            int[] oldSpanSizes = spanSizes;
+            int[] oldRowHeights = rowHeights;
+            this.applyOrder(order);
+            // props not updated since stay in the dragged order, so the next update
+            // does not diff the list back; newer ones are diffed against it when applied
+            if (pendingKeys == oldKeys) {
+                pendingKeys = keys;
+            }
+            if (pendingNativeData == oldNativeData) {
+                pendingNativeData = nativeData;
+            }
+            if (pendingSections == oldSections) {
+                pendingSections = sections;
+            }
+            if (pendingSpanSizes == oldSpanSizes) {
+                pendingSpanSizes = spanSizes;
+            }
+            if (pendingRowHeights == oldRowHeights) {
+                pendingRowHeights = rowHeights;
+            }
+            WritableMap event = Arguments.createMap();
+            event.putInt("fromPosition", fromPosition);
+            event.putInt("toPosition", toPosition);
+            gridList.getEventEmitter().receiveEvent(gridList.getId(), GridList.ON_MOVE_COMMITTED, event);
+        }
+
+        /**
+         * Takes the order of holders as the order of the current data set
+         */
+        private void applyOrder(int[] order) {
+            keys = permute(keys, order);
+            nativeData = nativeData != null ? nativeData.permute(order) : null;
+            sections = sections != null ? sections.permute(order) : null;
+            spanSizes = permute(spanSizes, order);
+            rowHeights = permute(rowHeights, order);
+        }
+
+        private int findPosition(int[] order, int dataPosition) {
+            for (int i = 0; i < order.length; i++) {
+                if (order[i] == dataPosition) {
+                    return i;
+                }
+            }
+            return NO_POSITION;
+        }
+
+        /**
+         * Binds of one frame go to JS as one event, a later bind of the same child wins
+         */
+        private void queueBind(GridViewHolder holder) {
+            pendingBinds.put((Integer) holder.itemView.getTag(), this.getDataPosition(holder.boundPosition));
+            if (gridList.metrics != null) {
+                gridList.metrics.onReactChildBound(holder.itemView);
+            }
+            if (!bindsPosted) {
+                bindsPosted = true;
+                Choreographer.getInstance().postFrameCallback(dispatchBinds);
+            }
+        }
+
+        /**
+         * Applies the props of one update. Without keys the whole data set is taken as changed,
+         * with keys the difference is worked out off the main thread and only changed,
+         * inserted, removed or moved items are updated.
+         */
+        void commitDataSet() {
+            String[] newKeys = pendingKeys;
+            int newItemCount = pendingItemCount;
+            NativeItemData newNativeData = pendingNativeData;
+            int[] newSpanSizes = pendingSpanSizes;
+            int[] newRowHeights = pendingRowHeights;
+            SectionData newSections = pendingSections;
+            int generation = ++diffGeneration;
+            boolean reordered = false;
+            if (dragOrder != null && (newKeys != keys || newNativeData != nativeData
+                || newSections != sections || newItemCount != itemCount)) {
+                // a new data set takes over from a drag in progress, holders already sit in
+                // the dragged order so that is what the new data set is diffed against
+                this.applyOrder(dragOrder);
+                dragOrder = null;
+                reordered = true;
+                gridList.spacingDecoration.invalidateRows();
+            }
+            if (newKeys == null || keys == null) {
+                boolean keyed = newKeys != null && newKeys != keys;
+                itemCount = newItemCount;
+                nativeData = newNativeData;
+                keys = newKeys;
+                this.applyLayout(newSpanSizes, newRowHeights, newSections);
+                if (keyed || reordered) {
+                    // nothing to diff against, or positions no longer match the data set
+                    this.notifyDataSetChanged();
+                }
+                return;
+            }
+            String[] oldKeys = keys;
+            NativeItemData oldNativeData = nativeData;
+            SectionData oldSections = sections;
+            if (newKeys == oldKeys && newNativeData == oldNativeData && newSections == oldSections
+                && newItemCount == itemCount) {
+                this.applyLayout(newSpanSizes, newRowHeights, newSections);
+                return;
+            }
+            DIFF_EXECUTOR.execute(() -> {
+                DiffUtil.DiffResult result = DiffUtil.calculateDiff(new KeyDiffCallback(
+                    oldKeys, oldNativeData, oldSections, newKeys, newNativeData, newSections));
+                gridList.post(() -> {
+                    // a newer update supersedes this one
+                    if (generation != diffGeneration) {
+                        return;
+                    }
+                    // a drag moved holders since the diff started, diff again from their order
+                    if (dragOrder != null || keys != oldKeys) {
+                        if (dragOrder != null) {
+                            this.applyOrder(dragOrder);
+                            dragOrder = null;
+                            gridList.spacingDecoration.invalidateRows();
+                        }
+                        this.commitDataSet();
+                        return;
+                    }
+                    itemCount = newItemCount;
+                    nativeData = newNativeData;
+                    keys = newKeys;
+                    this.applyLayout(newSpanSizes, newRowHeights, newSections);
+                    result.dispatchUpdatesTo(this);
+                });
+            });
+        }
+
+        private void applyLayout(int[] newSpanSizes, int[] newRowHeights, SectionData newSections) {
+            if (newSpanSizes != spanSizes || newSections != sections) {
+                // headers take a full row, moving them changes spans as well
+                spanSizes = newSpanSizes;
+                sections = newSections;
+                GridLayoutManager.SpanSizeLookup spanSizeLookup = gridList.layoutManager.getSpanSizeLookup();
+                spanSizeLookup.invalidateSpanIndexCache();
+                spanSizeLookup.invalidateSpanGroupIndexCache();
+                gridList.spacingDecoration.invalidateRows();
+                gridList.requestLayout();
+            }
+            if (newRowHeights != rowHeights) {
+                rowHeights = newRowHeights;
+                gridList.requestLayout();
+            }
+        }
+
+        private void dispatchBinds() {
+            bindsPosted = false;
+            WritableArray indices = Arguments.createArray();
+            WritableArray positions = Arguments.createArray();
+            for (int i = 0; i < pendingBinds.size(); i++) {
+                indices.pushInt(pendingBinds.keyAt(i));
+                positions.pushInt(pendingBinds.valueAt(i));
+            }
+            pendingBinds.clear();
+            WritableMap event = Arguments.createMap();
+            event.putArray("indices", indices);
+            event.putArray("positions", positions);
+            gridList.getEventEmitter().receiveEvent(gridList.getId(), GridList.ON_BIND_ITEMS, event);
+        }
+
+        /**
+         * One request per frame for the children still missing plus a row of headroom,
+         * less the ones requested before and not yet arrived
+         */
+        private void requestItemViews() {
+            requestPosted = false;
+            int count = placeholders.size() + gridList.getSpanCount() - outstandingCount;
+            if (count <= 0) {
+                return;
+            }
+            outstandingCount += count;
+            WritableMap event = Arguments.createMap();
+            event.putInt("count", count);
+            gridList.getEventEmitter().receiveEvent(gridList.getId(), GridList.ON_REQUEST_ITEMS, event);
+        }
+
+        /**
+         * Placeholders are not recyclable, a change makes the layout take a fresh holder
+         * carrying one of the newly arrived children
+         */
+        private void rebindPlaceholders() {
+            rebindPosted = false;
+            for (GridViewHolder placeholder : placeholders) {
+                int position = placeholder.getBindingAdapterPosition();
+                if (position != NO_POSITION) {
+                    this.notifyItemChanged(position);
+                }
+            }
+            placeholders.clear();
+        }
+    }
+
+    private static class KeyDiffCallback extends DiffUtil.Callback {
+
+        private final String[] oldKeys;
+        private final NativeItemData oldData;
+        private final SectionData oldSections;
+        private final String[] newKeys;
+        private final NativeItemData newData;
+        private final SectionData newSections;
+
+        KeyDiffCallback(String[] oldKeys, @Nullable NativeItemData oldData, @Nullable SectionData oldSections,
+                        String[] newKeys, @Nullable NativeItemData newData, @Nullable SectionData newSections) {
+            this.oldKeys = oldKeys;
+            this.oldData = oldData;
+            this.oldSections = oldSections;
+            this.newKeys = newKeys;
+            this.newData = newData;
+            this.newSections = newSections;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldKeys.length;
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newKeys.length;
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldKeys[oldItemPosition].equals(newKeys[newItemPosition]);
+        }
+
+        /**
+         * React children re-render from the new data set in JS on their own,
+         * only natively bound items and headers need a rebind
+         */
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            boolean oldHeader = oldSections != null && oldSections.isHeader(oldItemPosition);
+            boolean newHeader = newSections != null && newSections.isHeader(newItemPosition);
+            if (oldHeader || newHeader) {
+                return oldHeader && newHeader
+                    && oldSections.isSameTitle(oldItemPosition, newSections, newItemPosition);
+            }
+            if (oldData == null || newData == null) {
+                return oldData == newData;
+            }
+            return oldData.isSameContent(oldItemPosition, newData, newItemPosition);
         }
     }
 
@@ -192,23 +1116,105 @@ public class GridList extends RecyclerView {
 
         @Override
         public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull ViewHolder viewHolder, @NonNull ViewHolder target) {
-            GridList gridList = (GridList) recyclerView;
-            int fromPosition = viewHolder.getAdapterPosition();
-            int toPosition = target.getAdapterPosition();
-            gridList.adapter.notifyItemMoved(fromPosition, toPosition);
-            WritableMap event = Arguments.createMap();
-            event.putInt("fromPosition", fromPosition);
-            event.putInt("toPosition", toPosition);
-            gridList.getEventEmitter().receiveEvent(gridList.getId(), GridList.ON_MOVE, event);
+            ((GridList) recyclerView).adapter.moveDragged(
+                viewHolder.getBindingAdapterPosition(), target.getBindingAdapterPosition());
             return true;
         }
 
+        @Override
+        public void clearView(@NonNull RecyclerView recyclerView, @NonNull ViewHolder viewHolder) {
+            super.clearView(recyclerView, viewHolder);
+            ((GridList) recyclerView).adapter.commitDrag();
+        }
+
         @Override
         public void onSwiped(@NonNull ViewHolder viewHolder, int direction) { }
 
         @Override
         public int getDragDirs(@NonNull RecyclerView recyclerView, @NonNull ViewHolder viewHolder) {
-            return dragEnabled ? super.getDragDirs(recyclerView, viewHolder) : 0;
+            // headers stay where the sections put them
+            return dragEnabled && viewHolder.getItemViewType() != VIEW_TYPE_HEADER
+                ? super.getDragDirs(recyclerView, viewHolder) : 0;
+        }
+    }
+
+    //**************************************************************
+    // Implement decoration for sticky section headers
+    //****************************************************************
+
+    /**
+     * Draws the header of the section at the top over the list, pushed up by the next
+     * header as it scrolls in. One header view is kept for this, bound only when the
+     * section changes.
+     */
+    private static class StickyHeaderDecoration extends RecyclerView.ItemDecoration {
+
+        boolean enabled;
+        private SectionHeaderView headerView;
+        private HeaderTemplate boundTemplate;
+        private String boundTitle;
+
+        StickyHeaderDecoration() {
+            enabled = true;
+        }
+
+        @Override
+        public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull State state) {
+            if (!enabled) {
+                return;
+            }
+            GridAdapter adapter = ((GridList) parent).adapter;
+            int top = parent.getPaddingTop();
+            View firstChild = null;
+            int firstPosition = NO_POSITION;
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                View child = parent.getChildAt(i);
+                int position = parent.getChildLayoutPosition(child);
+                if (position != NO_POSITION && child.getBottom() > top
+                    && (firstPosition == NO_POSITION || position < firstPosition)) {
+                    firstChild = child;
+                    firstPosition = position;
+                }
+            }
+            if (firstChild == null || adapter.getSectionIndex(firstPosition) < 0) {
+                return;
+            }
+            LayoutManager layoutManager = Objects.requireNonNull(parent.getLayoutManager());
+            if (adapter.isHeader(firstPosition) && layoutManager.getDecoratedTop(firstChild) >= top) {
+                // the header itself is in place
+                return;
+            }
+            View header = this.getHeaderView(parent, adapter.headerTemplate, adapter.getSectionTitle(firstPosition));
+            int headerTop = top;
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                View child = parent.getChildAt(i);
+                int position = parent.getChildLayoutPosition(child);
+                if (position > firstPosition && adapter.isHeader(position)) {
+                    headerTop = Math.min(headerTop, layoutManager.getDecoratedTop(child) - header.getHeight());
+                }
+            }
+            int saveCount = canvas.save();
+            canvas.clipRect(parent.getPaddingLeft(), top, parent.getWidth() - parent.getPaddingRight(), parent.getHeight());
+            canvas.translate(parent.getPaddingLeft(), headerTop);
+            header.draw(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+
+        private View getHeaderView(RecyclerView parent, HeaderTemplate template, @Nullable String title) {
+            if (headerView == null) {
+                headerView = new SectionHeaderView(parent.getContext());
+            }
+            int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+            if (template != boundTemplate || !TextUtils.equals(title, boundTitle) || width != headerView.getWidth()) {
+                boundTemplate = template;
+                boundTitle = title;
+                headerView.bind(template, title);
+                headerView.measure(
+                    MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(template.height, MeasureSpec.EXACTLY));
+                headerView.layout(0, 0, width, template.height);
+            }
+            return headerView;
         }
     }
 
@@ -216,28 +1222,123 @@ public class GridList extends RecyclerView {
     // Implement decoration for layout spacing
     //****************************************************************
 
+    /**
+     * Splits horizontal spacing between the columns with an edge table in whole pixels,
+     * edge i being i * spacing / columns. An item spanning columns c to c + span takes
+     * edge c on the left and spacing less edge c + span on the right, so every gap comes
+     * out exactly the spacing without rounding drift. The table is rebuilt only when columns
+     * or spacing change, the size of the first row only when spans change.
+     */
     private static class SpacingDecoration extends RecyclerView.ItemDecoration {
 
-        int numColumns;
+        private int numColumns;
+        private int horizontalSpacing;
+        private int[] edges;
+        private int firstRowCount;
         int verticalSpacing;
-        int horizontalSpacing;
 
         SpacingDecoration() {
             numColumns = 1;
             verticalSpacing = 0;
             horizontalSpacing = 0;
+            firstRowCount = -1;
+            this.buildEdges();
+        }
+
+        /**
+         * @return whether offsets changed
+         */
+        boolean setNumColumns(int numColumns) {
+            if (this.numColumns == numColumns) {
+                return false;
+            }
+            this.numColumns = numColumns;
+            this.buildEdges();
+            this.invalidateRows();
+            return true;
+        }
+
+        /**
+         * @return whether offsets changed
+         */
+        boolean setHorizontalSpacing(int horizontalSpacing) {
+            if (this.horizontalSpacing == horizontalSpacing) {
+                return false;
+            }
+            this.horizontalSpacing = horizontalSpacing;
+            this.buildEdges();
+            return true;
+        }
+
+        /**
+         * Span sizes changed, the first row may hold a different number of items
+         */
+        void invalidateRows() {
+            firstRowCount = -1;
+        }
+
+        private void buildEdges() {
+            edges = new int[numColumns + 1];
+            for (int i = 0; i <= numColumns; i++) {
+                edges[i] = i * horizontalSpacing / numColumns;
+            }
         }
 
         @Override
         public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull State state) {
-            super.getItemOffsets(outRect, view, parent, state);
-            int position = parent.getChildAdapterPosition(view);
-            int columnIndex = position % numColumns;
-            outRect.left = Math.round(horizontalSpacing * (columnIndex * 1.0f / numColumns));
-            outRect.right = Math.round(horizontalSpacing * (1 - (columnIndex + 1) * 1.0f / numColumns));
-            if (position >= numColumns) {
-                outRect.top = verticalSpacing;
+            // span index and size are assigned by the layout manager before items are measured
+            RecyclerView.LayoutParams layoutParams = (RecyclerView.LayoutParams) view.getLayoutParams();
+            int columnIndex;
+            int spanSize;
+            if (layoutParams instanceof StaggeredGridLayoutManager.LayoutParams) {
+                StaggeredGridLayoutManager.LayoutParams params = (StaggeredGridLayoutManager.LayoutParams) layoutParams;
+                boolean fullSpan = params.isFullSpan();
+                columnIndex = fullSpan ? 0 : params.getSpanIndex();
+                spanSize = fullSpan ? numColumns : 1;
+            } else {
+                GridLayoutManager.LayoutParams params = (GridLayoutManager.LayoutParams) layoutParams;
+                columnIndex = params.getSpanIndex();
+                spanSize = params.getSpanSize();
+            }
+            if (columnIndex < 0 || columnIndex >= numColumns) {
+                outRect.set(0, 0, 0, 0);
+                return;
+            }
+            int endIndex = Math.min(columnIndex + spanSize, numColumns);
+            if (firstRowCount < 0) {
+                firstRowCount = this.countFirstRow((GridList) parent);
+            }
+            outRect.set(edges[columnIndex],
+                layoutParams.getViewLayoutPosition() >= firstRowCount ? verticalSpacing : 0,
+                horizontalSpacing - edges[endIndex],
+                0);
+        }
+
+        /**
+         * Items of the first row, which get no top spacing. A grid row fills up until the
+         * next span no longer fits, staggered columns fill up one item each until a full
+         * span item takes a row of its own.
+         */
+        private int countFirstRow(GridList gridList) {
+            GridAdapter adapter = gridList.adapter;
+            boolean staggered = gridList.isStaggered();
+            int count = 0;
+            int spans = 0;
+            while (spans < numColumns) {
+                int spanSize = Math.min(adapter.getSpanSize(count), numColumns);
+                if (staggered) {
+                    if (spanSize == numColumns) {
+                        return count == 0 ? 1 : count;
+                    }
+                    spanSize = 1;
+                }
+                if (spans + spanSize > numColumns) {
+                    break;
+                }
+                spans += spanSize;
+                count++;
             }
+            return count;
         }
     }
 }
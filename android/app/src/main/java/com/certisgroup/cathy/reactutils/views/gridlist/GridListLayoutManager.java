@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Grid layout that lays out and prefetches beyond the viewport, so items bound
+ * through JS are ready before they scroll in
+ *
+ * @author Lingqi
+ */
+class GridListLayoutManager extends GridLayoutManager {
+
+    private int prefetchItemCount;
+    private int extraLayoutSpace;
+
+    GridListLayoutManager(Context context, int spanCount) {
+        super(context, spanCount);
+        prefetchItemCount = 0;
+        extraLayoutSpace = 0;
+    }
+
+    /**
+     * Items GapWorker binds ahead in the scroll direction on idle frame time,
+     * 0 for the default of one row
+     */
+    void setPrefetchItemCount(int prefetchItemCount) {
+        this.prefetchItemCount = prefetchItemCount;
+        this.setInitialPrefetchItemCount(Math.max(prefetchItemCount, 2));
+    }
+
+    /**
+     * Pixels laid out beyond each edge of the viewport, 0 for the default
+     */
+    void setExtraLayoutSpace(int extraLayoutSpace) {
+        this.extraLayoutSpace = extraLayoutSpace;
+    }
+
+    @Override
+    protected void calculateExtraLayoutSpace(@NonNull RecyclerView.State state,
+                                             @NonNull int[] extraLayoutSpace) {
+        if (this.extraLayoutSpace > 0) {
+            extraLayoutSpace[0] = this.extraLayoutSpace;
+            extraLayoutSpace[1] = this.extraLayoutSpace;
+        } else {
+            super.calculateExtraLayoutSpace(state, extraLayoutSpace);
+        }
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        if (prefetchItemCount <= 0 || dy == 0 || this.getChildCount() == 0) {
+            super.collectAdjacentPrefetchPositions(dx, dy, state, layoutPrefetchRegistry);
+            return;
+        }
+        int itemCount = state.getItemCount();
+        int distance = Math.abs(dy);
+        if (dy > 0) {
+            int last = this.findLastVisibleItemPosition();
+            for (int position = last + 1; position <= last + prefetchItemCount && position < itemCount; position++) {
+                layoutPrefetchRegistry.addPosition(position, distance);
+            }
+        } else {
+            int first = this.findFirstVisibleItemPosition();
+            for (int position = first - 1; position >= first - prefetchItemCount && position >= 0; position--) {
+                layoutPrefetchRegistry.addPosition(position, distance);
+            }
+        }
+    }
+}
@@ -59,11 +59,36 @@ public class GridListManager extends ViewGroupManager<GridList> {
         view.setRowHeight(rowHeight);
     }
 
+    @ReactProp(name = "layout")
+    public void setLayout(GridList view, @Nullable String layout) {
+        view.setLayout(layout);
+    }
+
     @ReactProp(name = "numColumns")
     public void setNumColumns(GridList view, int numColumns) {
         view.setNumColumns(numColumns);
     }
 
+    @ReactProp(name = "prefetchItemCount")
+    public void setPrefetchItemCount(GridList view, int prefetchItemCount) {
+        view.setPrefetchItemCount(prefetchItemCount);
+    }
+
+    @ReactProp(name = "extraLayoutSpace")
+    public void setExtraLayoutSpace(GridList view, float extraLayoutSpace) {
+        view.setExtraLayoutSpace(extraLayoutSpace);
+    }
+
+    @ReactProp(name = "spanSizes")
+    public void setSpanSizes(GridList view, @Nullable ReadableArray spanSizes) {
+        view.setSpanSizes(spanSizes);
+    }
+
+    @ReactProp(name = "rowHeights")
+    public void setRowHeights(GridList view, @Nullable ReadableArray rowHeights) {
+        view.setRowHeights(rowHeights);
+    }
+
     @ReactProp(name = "dragEnabled")
     public void setDragEnabled(GridList view, boolean dragEnabled) {
         view.setDragEnabled(dragEnabled);
@@ -89,12 +114,56 @@ public class GridListManager extends ViewGroupManager<GridList> {
         view.setClipChildren(clipItem);
     }
 
+    @ReactProp(name = "itemTemplate")
+    public void setItemTemplate(GridList view, @Nullable ReadableMap itemTemplate) {
+        view.setItemTemplate(itemTemplate);
+    }
+
+    @ReactProp(name = "nativeData")
+    public void setNativeData(GridList view, @Nullable ReadableMap nativeData) {
+        view.setNativeData(nativeData);
+    }
+
+    @ReactProp(name = "metricsEnabled")
+    public void setMetricsEnabled(GridList view, boolean metricsEnabled) {
+        view.setMetricsEnabled(metricsEnabled);
+    }
+
+    @ReactProp(name = "sections")
+    public void setSections(GridList view, @Nullable ReadableMap sections) {
+        view.setSections(sections);
+    }
+
+    @ReactProp(name = "headerTemplate")
+    public void setHeaderTemplate(GridList view, @Nullable ReadableMap headerTemplate) {
+        view.setHeaderTemplate(headerTemplate);
+    }
+
+    @ReactProp(name = "stickyHeaders", defaultBoolean = true)
+    public void setStickyHeaders(GridList view, boolean stickyHeaders) {
+        view.setStickyHeaders(stickyHeaders);
+    }
+
+    @ReactProp(name = "itemKeys")
+    public void setItemKeys(GridList view, @Nullable ReadableArray itemKeys) {
+        view.setItemKeys(itemKeys);
+    }
+
+    @Override
+    protected void onAfterUpdateTransaction(@NonNull GridList view) {
+        super.onAfterUpdateTransaction(view);
+        view.commitDataSet();
+    }
+
     @Nullable
     @Override
     public Map<String, Object> getExportedCustomDirectEventTypeConstants() {
         return MapBuilder.<String, Object>builder()
-            .put(GridList.ON_BIND, MapBuilder.of("registrationName", GridList.ON_BIND))
-            .put(GridList.ON_MOVE, MapBuilder.of("registrationName", GridList.ON_MOVE))
+            .put(GridList.ON_BIND_ITEMS, MapBuilder.of("registrationName", GridList.ON_BIND_ITEMS))
+            .put(GridList.ON_MOVE_COMMITTED, MapBuilder.of("registrationName", GridList.ON_MOVE_COMMITTED))
+            .put(GridList.ON_REQUEST_ITEMS, MapBuilder.of("registrationName", GridList.ON_REQUEST_ITEMS))
+            .put(GridList.ON_PRESS_ITEM, MapBuilder.of("registrationName", GridList.ON_PRESS_ITEM))
+            .put(GridList.ON_SCROLL_METRICS, MapBuilder.of("registrationName", GridList.ON_SCROLL_METRICS))
             .build();
     }
 
@@ -102,8 +171,19 @@ public class GridListManager extends ViewGroupManager<GridList> {
     public void receiveCommand(@NonNull GridList view, String commandId, @Nullable ReadableArray args) {
         switch (commandId) {
             case "refreshDataSet":
-                Objects.requireNonNull(view.getAdapter()).notifyDataSetChanged();
-                view.scrollBy(0, -1);
+                view.refreshDataSet();
+                break;
+            case "insertRange":
+                view.insertRange(Objects.requireNonNull(args).getInt(0), args.getInt(1));
+                break;
+            case "removeRange":
+                view.removeRange(Objects.requireNonNull(args).getInt(0), args.getInt(1));
+                break;
+            case "moveItem":
+                view.moveItem(Objects.requireNonNull(args).getInt(0), args.getInt(1));
+                break;
+            case "changeRange":
+                view.changeRange(Objects.requireNonNull(args).getInt(0), args.getInt(1));
                 break;
         }
     }
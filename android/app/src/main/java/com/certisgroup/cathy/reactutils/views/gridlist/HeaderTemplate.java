@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.graphics.Color;
+
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Declarative look of natively rendered section headers: a single line title on a
+ * full width bar. Lengths are converted to px on parsing.
+ *
+ * @author Lingqi
+ */
+final class HeaderTemplate {
+
+    final int height;
+    final int paddingHorizontal;
+    final int backgroundColor;
+    final float titleSize;
+    final int titleColor;
+
+    HeaderTemplate(ReadableMap template, float scale) {
+        height = (int) (ItemTemplate.getDouble(template, "height", 40) * scale + 0.5f);
+        paddingHorizontal = (int) (ItemTemplate.getDouble(template, "paddingHorizontal", 16) * scale + 0.5f);
+        backgroundColor = ItemTemplate.getInt(template, "backgroundColor", Color.WHITE);
+        titleSize = (float) ItemTemplate.getDouble(template, "titleSize", 14);
+        titleColor = ItemTemplate.getInt(template, "titleColor", Color.BLACK);
+    }
+}
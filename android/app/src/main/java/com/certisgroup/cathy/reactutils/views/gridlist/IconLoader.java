@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.modules.network.OkHttpClientProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Loads item icons for natively bound grid items. Decodes off the main thread, sampled
+ * down to the icon size, into a memory cache shared by all grid lists.
+ * Takes http(s), file, content and android.resource URIs, and bundled image names.
+ * Downloads go through the React Native OkHttp client, sharing its cookies, with a disk cache.
+ * Icons can be prefetched ahead of binding, decodes nobody waits for any more are cancelled.
+ *
+ * @author Lingqi
+ */
+final class IconLoader implements ComponentCallbacks2 {
+
+    private static final int THREAD_COUNT = 2;
+    private static final int TIMEOUT_MILLIS = 15000;
+    private static final long DISK_CACHE_BYTES = 20 * 1024 * 1024;
+
+    private static IconLoader instance;
+
+    private final Context context;
+    private final Handler mainHandler;
+    private final ThreadPoolExecutor executor;
+    private final OkHttpClient httpClient;
+    private final LruCache<String, Bitmap> cache;
+    /** decodes in flight by cache key, touched on the main thread only */
+    private final Map<String, Request> requests;
+
+    static synchronized IconLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new IconLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private IconLoader(Context context) {
+        this.context = context;
+        mainHandler = new Handler(Looper.getMainLooper());
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "icon-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        // derived from the RN client, so the cookie jar, interceptors and connections are shared
+        httpClient = OkHttpClientProvider.getOkHttpClient().newBuilder()
+            .cache(new Cache(new File(context.getCacheDir(), "grid_icons"), DISK_CACHE_BYTES))
+            .connectTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            .readTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+        // an eighth of the heap sized in KiB, a sixteenth on low RAM devices
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager != null && activityManager.isLowRamDevice();
+        int cacheSize = (int) (Runtime.getRuntime().maxMemory() / 1024 / (lowRam ? 16 : 8));
+        cache = new LruCache<String, Bitmap>(cacheSize) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount() / 1024;
+            }
+        };
+        requests = new HashMap<>();
+        context.registerComponentCallbacks(this);
+    }
+
+    /**
+     * Show uri in view, onLoaded runs once the icon is shown. A later load into the same
+     * view supersedes this one.
+     */
+    void load(ImageView view, @Nullable String uri, int size, @Nullable Runnable onLoaded) {
+        this.removeWaiter(view);
+        view.setTag(uri);
+        boolean empty = uri == null || uri.isEmpty();
+        String key = empty ? null : getKey(uri, size);
+        Bitmap bitmap = empty ? null : cache.get(key);
+        if (bitmap != null) {
+            view.setImageBitmap(bitmap);
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        } else {
+            view.setImageDrawable(null);
+            if (!empty) {
+                this.request(uri, size, key).waiters.add(new Waiter(view, uri, onLoaded));
+            }
+        }
+        // the decode view waited for before may be wanted by nobody now
+        this.cancelUnwanted();
+    }
+
+    /**
+     * Forget view, its pending decode is cancelled unless someone else waits for it too
+     */
+    void clear(ImageView view) {
+        this.removeWaiter(view);
+        view.setTag(null);
+        this.cancelUnwanted();
+    }
+
+    private void removeWaiter(ImageView view) {
+        if (view.getTag() == null) {
+            return;
+        }
+        for (Request request : requests.values()) {
+            for (int i = request.waiters.size() - 1; i >= 0; i--) {
+                if (request.waiters.get(i).view == view) {
+                    request.waiters.remove(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decode uri into the cache ahead of binding, every prefetch returned must be
+     * cancelled once no longer wanted
+     *
+     * @return prefetch to cancel, null when there is nothing to decode
+     */
+    @Nullable
+    Prefetch prefetch(@Nullable String uri, int size) {
+        if (uri == null || uri.isEmpty()) {
+            return null;
+        }
+        String key = getKey(uri, size);
+        if (cache.get(key) != null) {
+            return null;
+        }
+        Request request = this.request(uri, size, key);
+        request.prefetchCount++;
+        return new Prefetch(key, request);
+    }
+
+    /**
+     * Cancel a prefetch, the decode goes on if a view or another prefetch waits for it.
+     * Cancelling one whose decode has finished does nothing, even if the icon is decoding again.
+     */
+    void cancelPrefetch(Prefetch prefetch) {
+        Request request = prefetch.request;
+        if (requests.get(prefetch.key) == request && request.prefetchCount > 0) {
+            request.prefetchCount--;
+            this.cancelUnwanted();
+        }
+    }
+
+    private static String getKey(String uri, int size) {
+        return uri + "@" + size;
+    }
+
+    private Request request(String uri, int size, String key) {
+        Request request = requests.get(key);
+        if (request != null) {
+            return request;
+        }
+        Request newRequest = new Request();
+        requests.put(key, newRequest);
+        newRequest.future = executor.submit(() -> {
+            Bitmap decoded;
+            try {
+                decoded = this.decode(uri, size);
+            } catch (IOException | RuntimeException e) {
+                decoded = null;
+            }
+            if (decoded != null) {
+                cache.put(key, decoded);
+            }
+            Bitmap result = decoded;
+            mainHandler.post(() -> this.deliver(key, newRequest, result));
+        });
+        return newRequest;
+    }
+
+    private void deliver(String key, Request request, @Nullable Bitmap bitmap) {
+        if (requests.get(key) == request) {
+            requests.remove(key);
+        }
+        if (bitmap == null) {
+            return;
+        }
+        for (Waiter waiter : request.waiters) {
+            if (waiter.uri.equals(waiter.view.getTag())) {
+                waiter.view.setImageBitmap(bitmap);
+                if (waiter.onLoaded != null) {
+                    waiter.onLoaded.run();
+                }
+            }
+        }
+    }
+
+    private void cancelUnwanted() {
+        Iterator<Request> iterator = requests.values().iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (request.prefetchCount == 0 && request.waiters.isEmpty()) {
+                // a decode already running finishes into the cache, a queued one never starts
+                request.future.cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    //**************************************************************
+    // Implement ComponentCallbacks2 to give memory back
+    //****************************************************************
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE) {
+            cache.evictAll();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        cache.evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration configuration) { }
+
+    @Nullable
+    private Bitmap decode(String uri, int size) throws IOException {
+        byte[] bytes;
+        Uri parsed = Uri.parse(uri);
+        String scheme = parsed.getScheme();
+        if ("http".equals(scheme) || "https".equals(scheme)) {
+            okhttp3.Request request = new okhttp3.Request.Builder().url(uri).build();
+            // closing the response releases its connection, error bodies included
+            try (Response response = httpClient.newCall(request).execute()) {
+                ResponseBody body = response.body();
+                if (!response.isSuccessful() || body == null) {
+                    throw new IOException("HTTP " + response.code() + " loading " + uri);
+                }
+                bytes = body.bytes();
+            }
+        } else {
+            try (InputStream input = this.open(uri, parsed)) {
+                bytes = readFully(input);
+            }
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        int sampleSize = 1;
+        while (size > 0 && options.outWidth / (sampleSize * 2) >= size
+            && options.outHeight / (sampleSize * 2) >= size) {
+            sampleSize *= 2;
+        }
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+    }
+
+    private static byte[] readFully(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16 * 1024];
+        int length;
+        while ((length = input.read(buffer)) != -1) {
+            output.write(buffer, 0, length);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Opens local uris, http(s) ones are read in decode
+     */
+    private InputStream open(String uri, Uri parsed) throws IOException {
+        if (parsed.getScheme() == null) {
+            // release builds resolve bundled images to drawable names
+            String name = uri.toLowerCase().replace("-", "_");
+            int id = context.getResources().getIdentifier(name, "drawable", context.getPackageName());
+            if (id == 0) {
+                throw new FileNotFoundException(uri);
+            }
+            return context.getResources().openRawResource(id);
+        }
+        InputStream input = context.getContentResolver().openInputStream(parsed);
+        if (input == null) {
+            throw new FileNotFoundException(uri);
+        }
+        return input;
+    }
+
+    private static class Request {
+
+        final List<Waiter> waiters = new ArrayList<>();
+        int prefetchCount;
+        Future<?> future;
+    }
+
+    /**
+     * One prefetch of a decode, bound to that decode rather than to its cache key
+     */
+    static final class Prefetch {
+
+        final String key;
+        private final Request request;
+
+        private Prefetch(String key, Request request) {
+            this.key = key;
+            this.request = request;
+        }
+    }
+
+    private static class Waiter {
+
+        final ImageView view;
+        final String uri;
+        final Runnable onLoaded;
+
+        Waiter(ImageView view, String uri, @Nullable Runnable onLoaded) {
+            this.view = view;
+            this.uri = uri;
+            this.onLoaded = onLoaded;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.graphics.Color;
+
+import com.facebook.react.bridge.ReadableMap;
+
+/**
+ * Declarative look of natively bound grid items: an icon with an optional badge bar
+ * across its bottom and a title below. Lengths are converted to px on parsing.
+ *
+ * @author Lingqi
+ */
+final class ItemTemplate {
+
+    final int iconSize;
+    final float iconRadius;
+    final int iconBackgroundColor;
+    final float iconElevation;
+    final int rippleColor;
+    final String placeholder;
+    final int titleMarginTop;
+    final float titleSize;
+    final int titleColor;
+    final int titleLines;
+    final int badgeHeight;
+    final int badgeColor;
+    final float badgeTextSize;
+    final int badgeTextColor;
+
+    ItemTemplate(ReadableMap template, float scale) {
+        iconSize = (int) (getDouble(template, "iconSize", 48) * scale + 0.5f);
+        iconRadius = (float) getDouble(template, "iconRadius", 0) * scale;
+        iconBackgroundColor = getInt(template, "iconBackgroundColor", Color.TRANSPARENT);
+        iconElevation = (float) getDouble(template, "iconElevation", 0) * scale;
+        rippleColor = getInt(template, "rippleColor", 0x1F000000);
+        placeholder = template.hasKey("placeholder") ? template.getString("placeholder") : null;
+        titleMarginTop = (int) (getDouble(template, "titleMarginTop", 8) * scale + 0.5f);
+        titleSize = (float) getDouble(template, "titleSize", 14);
+        titleColor = getInt(template, "titleColor", Color.BLACK);
+        titleLines = getInt(template, "titleLines", 2);
+        badgeHeight = (int) (getDouble(template, "badgeHeight", 24) * scale + 0.5f);
+        badgeColor = getInt(template, "badgeColor", 0x52000000);
+        badgeTextSize = (float) getDouble(template, "badgeTextSize", 14);
+        badgeTextColor = getInt(template, "badgeTextColor", Color.WHITE);
+    }
+
+    static double getDouble(ReadableMap map, String name, double fallback) {
+        return map.hasKey(name) && !map.isNull(name) ? map.getDouble(name) : fallback;
+    }
+
+    static int getInt(ReadableMap map, String name, int fallback) {
+        return map.hasKey(name) && !map.isNull(name) ? map.getInt(name) : fallback;
+    }
+}
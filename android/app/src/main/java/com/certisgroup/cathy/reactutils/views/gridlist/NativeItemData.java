@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+/**
+ * Flattened data of natively bound grid items, parallel arrays indexed by position.
+ * Positions marked custom are rendered by React children instead.
+ *
+ * @author Lingqi
+ */
+final class NativeItemData {
+
+    private final String[] titles;
+    private final String[] icons;
+    private final String[] badges;
+    private final boolean[] custom;
+
+    NativeItemData(ReadableMap data) {
+        titles = toStrings(data.getArray("titles"));
+        icons = toStrings(data.getArray("icons"));
+        badges = toStrings(data.getArray("badges"));
+        ReadableArray customArray = data.hasKey("custom") ? data.getArray("custom") : null;
+        custom = new boolean[customArray != null ? customArray.size() : 0];
+        for (int i = 0; i < custom.length; i++) {
+            custom[i] = customArray.getBoolean(i);
+        }
+    }
+
+    private NativeItemData(String[] titles, String[] icons, String[] badges, boolean[] custom) {
+        this.titles = titles;
+        this.icons = icons;
+        this.badges = badges;
+        this.custom = custom;
+    }
+
+    /**
+     * @param order position in this data of the item at each position of the result
+     */
+    NativeItemData permute(int[] order) {
+        String[] titles = new String[order.length];
+        String[] icons = new String[order.length];
+        String[] badges = new String[order.length];
+        boolean[] custom = new boolean[order.length];
+        for (int i = 0; i < order.length; i++) {
+            titles[i] = this.getTitle(order[i]);
+            icons[i] = this.getIcon(order[i]);
+            badges[i] = this.getBadge(order[i]);
+            custom[i] = this.isCustom(order[i]);
+        }
+        return new NativeItemData(titles, icons, badges, custom);
+    }
+
+    boolean isCustom(int position) {
+        return position >= titles.length || (position < custom.length && custom[position]);
+    }
+
+    @Nullable
+    String getTitle(int position) {
+        return position < titles.length ? titles[position] : null;
+    }
+
+    @Nullable
+    String getIcon(int position) {
+        return position < icons.length ? icons[position] : null;
+    }
+
+    @Nullable
+    String getBadge(int position) {
+        return position < badges.length ? badges[position] : null;
+    }
+
+    boolean isSameContent(int position, NativeItemData other, int otherPosition) {
+        return this.isCustom(position) == other.isCustom(otherPosition)
+            && TextUtils.equals(this.getTitle(position), other.getTitle(otherPosition))
+            && TextUtils.equals(this.getIcon(position), other.getIcon(otherPosition))
+            && TextUtils.equals(this.getBadge(position), other.getBadge(otherPosition));
+    }
+
+    private static String[] toStrings(@Nullable ReadableArray array) {
+        String[] strings = new String[array != null ? array.size() : 0];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = array.getType(i) == ReadableType.String ? array.getString(i) : null;
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.RippleDrawable;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Grid item bound natively from NativeItemData, laid out after an ItemTemplate
+ *
+ * @author Lingqi
+ */
+class NativeItemView extends LinearLayout {
+
+    private final FrameLayout iconFrame;
+    private final ImageView placeholderView;
+    private final ImageView iconView;
+    private final TextView badgeView;
+    private final TextView titleView;
+    private final Runnable hidePlaceholder;
+    private ItemTemplate template;
+
+    NativeItemView(@NonNull Context context) {
+        super(context);
+        this.setOrientation(VERTICAL);
+        this.setGravity(Gravity.CENTER);
+        iconFrame = new FrameLayout(context);
+        iconFrame.setClipToOutline(true);
+        placeholderView = new ImageView(context);
+        placeholderView.setScaleType(ImageView.ScaleType.CENTER_CROP);
+        iconFrame.addView(placeholderView, new FrameLayout.LayoutParams(
+            LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        iconView = new ImageView(context);
+        iconView.setScaleType(ImageView.ScaleType.FIT_CENTER);
+        iconFrame.addView(iconView, new FrameLayout.LayoutParams(
+            LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        badgeView = new TextView(context);
+        badgeView.setGravity(Gravity.CENTER);
+        badgeView.setAllCaps(true);
+        iconFrame.addView(badgeView);
+        this.addView(iconFrame);
+        titleView = new TextView(context);
+        titleView.setGravity(Gravity.CENTER_HORIZONTAL);
+        titleView.setEllipsize(TextUtils.TruncateAt.END);
+        this.addView(titleView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+        hidePlaceholder = () -> placeholderView.setVisibility(INVISIBLE);
+    }
+
+    void bind(ItemTemplate template, NativeItemData data, int position) {
+        if (this.template != template) {
+            this.applyTemplate(template);
+        }
+        titleView.setText(data.getTitle(position));
+        String badge = data.getBadge(position);
+        badgeView.setText(badge);
+        badgeView.setVisibility(badge != null ? VISIBLE : GONE);
+        placeholderView.setVisibility(VISIBLE);
+        IconLoader.getInstance(this.getContext())
+            .load(iconView, data.getIcon(position), template.iconSize, hidePlaceholder);
+    }
+
+    void recycle() {
+        IconLoader.getInstance(this.getContext()).clear(iconView);
+    }
+
+    private void applyTemplate(ItemTemplate template) {
+        this.template = template;
+        LayoutParams iconParams = new LayoutParams(template.iconSize, template.iconSize);
+        iconFrame.setLayoutParams(iconParams);
+        GradientDrawable background = new GradientDrawable();
+        background.setColor(template.iconBackgroundColor);
+        background.setCornerRadius(template.iconRadius);
+        iconFrame.setBackground(background);
+        iconFrame.setElevation(template.iconElevation);
+        GradientDrawable mask = new GradientDrawable();
+        mask.setColor(0xFFFFFFFF);
+        mask.setCornerRadius(template.iconRadius);
+        iconFrame.setForeground(new RippleDrawable(
+            ColorStateList.valueOf(template.rippleColor), null, mask));
+        FrameLayout.LayoutParams badgeParams = new FrameLayout.LayoutParams(
+            LayoutParams.MATCH_PARENT, template.badgeHeight, Gravity.BOTTOM);
+        badgeView.setLayoutParams(badgeParams);
+        badgeView.setBackgroundColor(template.badgeColor);
+        badgeView.setTextColor(template.badgeTextColor);
+        badgeView.setTextSize(TypedValue.COMPLEX_UNIT_SP, template.badgeTextSize);
+        LayoutParams titleParams = (LayoutParams) titleView.getLayoutParams();
+        titleParams.topMargin = template.titleMarginTop;
+        titleView.setLayoutParams(titleParams);
+        titleView.setTextColor(template.titleColor);
+        titleView.setTextSize(TypedValue.COMPLEX_UNIT_SP, template.titleSize);
+        titleView.setMaxLines(template.titleLines);
+        IconLoader.getInstance(this.getContext())
+            .load(placeholderView, template.placeholder, template.iconSize, null);
+    }
+
+    /**
+     * Pressing the icon presses the item, same as the React rendered cells
+     */
+    void setOnPressListener(View.OnClickListener listener) {
+        iconFrame.setOnClickListener(listener);
+    }
+}
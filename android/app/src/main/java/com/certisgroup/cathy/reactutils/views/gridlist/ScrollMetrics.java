@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Scroll performance of a grid list, collected over one scroll gesture (drag and fling):
+ * frame durations and dropped frames from vsync intervals, latency from binding a React
+ * child to its JS update reaching the screen, and view holders created.
+ *
+ * @author Lingqi
+ */
+final class ScrollMetrics implements Choreographer.FrameCallback {
+
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+    private final Map<View, Long> bindTimes;
+    private long frameIntervalNanos;
+    private boolean scrolling;
+    private long startNanos;
+    private long lastFrameNanos;
+    private int frames;
+    private int jankyFrames;
+    private int droppedFrames;
+    private long maxFrameNanos;
+    private int binds;
+    private long totalBindLatencyNanos;
+    private long maxBindLatencyNanos;
+    private int holdersCreated;
+
+    ScrollMetrics() {
+        bindTimes = new IdentityHashMap<>();
+        frameIntervalNanos = 1000000000L / 60;
+    }
+
+    void start(@Nullable Display display) {
+        if (scrolling) {
+            return;
+        }
+        if (display != null && display.getRefreshRate() > 0) {
+            frameIntervalNanos = (long) (1000000000L / display.getRefreshRate());
+        }
+        scrolling = true;
+        startNanos = System.nanoTime();
+        lastFrameNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!scrolling) {
+            return;
+        }
+        if (lastFrameNanos > 0) {
+            long duration = frameTimeNanos - lastFrameNanos;
+            frames++;
+            maxFrameNanos = Math.max(maxFrameNanos, duration);
+            // vsyncs skipped since the last frame, rounded so timing noise is not jank
+            long missed = (duration + frameIntervalNanos / 2) / frameIntervalNanos - 1;
+            if (missed > 0) {
+                jankyFrames++;
+                droppedFrames += missed;
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void onHolderCreated() {
+        holdersCreated++;
+    }
+
+    void onReactChildBound(View itemView) {
+        bindTimes.put(itemView, System.nanoTime());
+    }
+
+    /**
+     * The first invalidation after a bind is React applying the JS update,
+     * which is drawn in the frame being built
+     */
+    void onReactChildInvalidated(View itemView) {
+        Long bindTime = bindTimes.remove(itemView);
+        if (bindTime != null) {
+            long latency = System.nanoTime() - bindTime;
+            binds++;
+            totalBindLatencyNanos += latency;
+            maxBindLatencyNanos = Math.max(maxBindLatencyNanos, latency);
+        }
+    }
+
+    /**
+     * @return metrics of the gesture just ended, null if none was in progress
+     */
+    @Nullable
+    WritableMap stop() {
+        if (!scrolling) {
+            return null;
+        }
+        scrolling = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        WritableMap metrics = Arguments.createMap();
+        metrics.putDouble("durationMillis", (System.nanoTime() - startNanos) / NANOS_PER_MILLI);
+        metrics.putDouble("frameIntervalMillis", frameIntervalNanos / NANOS_PER_MILLI);
+        metrics.putInt("frames", frames);
+        metrics.putInt("jankyFrames", jankyFrames);
+        metrics.putInt("droppedFrames", droppedFrames);
+        metrics.putDouble("maxFrameMillis", maxFrameNanos / NANOS_PER_MILLI);
+        metrics.putInt("binds", binds);
+        metrics.putDouble("avgBindLatencyMillis",
+            binds > 0 ? totalBindLatencyNanos / NANOS_PER_MILLI / binds : 0);
+        metrics.putDouble("maxBindLatencyMillis", maxBindLatencyNanos / NANOS_PER_MILLI);
+        metrics.putInt("holdersCreated", holdersCreated);
+        frames = 0;
+        jankyFrames = 0;
+        droppedFrames = 0;
+        maxFrameNanos = 0;
+        binds = 0;
+        totalBindLatencyNanos = 0;
+        maxBindLatencyNanos = 0;
+        holdersCreated = 0;
+        bindTimes.clear();
+        return metrics;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.Arrays;
+
+/**
+ * Sections of a grid list. Offsets are the ascending positions of the section headers,
+ * which are items of the data set in their own right, each with its title.
+ *
+ * @author Lingqi
+ */
+final class SectionData {
+
+    private final int[] offsets;
+    private final String[] titles;
+
+    SectionData(ReadableMap data) {
+        ReadableArray offsetArray = data.getArray("offsets");
+        ReadableArray titleArray = data.getArray("titles");
+        offsets = new int[offsetArray != null ? offsetArray.size() : 0];
+        titles = new String[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offsetArray.getInt(i);
+            titles[i] = titleArray != null && i < titleArray.size()
+                && titleArray.getType(i) == ReadableType.String ? titleArray.getString(i) : null;
+        }
+    }
+
+    private SectionData(int[] offsets, String[] titles) {
+        this.offsets = offsets;
+        this.titles = titles;
+    }
+
+    boolean isHeader(int position) {
+        return Arrays.binarySearch(offsets, position) >= 0;
+    }
+
+    /**
+     * @return section position belongs to, -1 ahead of the first header
+     */
+    int getSectionIndex(int position) {
+        int index = Arrays.binarySearch(offsets, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Nullable
+    String getTitle(int section) {
+        return titles[section];
+    }
+
+    /**
+     * Both positions must be headers
+     */
+    boolean isSameTitle(int position, SectionData other, int otherPosition) {
+        return TextUtils.equals(titles[Arrays.binarySearch(offsets, position)],
+            other.titles[Arrays.binarySearch(other.offsets, otherPosition)]);
+    }
+
+    /**
+     * @param order position in this data of the item at each position of the result
+     */
+    SectionData permute(int[] order) {
+        int[] offsets = new int[this.offsets.length];
+        String[] titles = new String[this.offsets.length];
+        int count = 0;
+        for (int i = 0; i < order.length && count < offsets.length; i++) {
+            int index = Arrays.binarySearch(this.offsets, order[i]);
+            if (index >= 0) {
+                offsets[count] = i;
+                titles[count] = this.titles[index];
+                count++;
+            }
+        }
+        return new SectionData(Arrays.copyOf(offsets, count), Arrays.copyOf(titles, count));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import android.content.Context;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Section header rendered natively after a HeaderTemplate, used both as a list item
+ * and as the sticky header drawn over the list
+ *
+ * @author Lingqi
+ */
+class SectionHeaderView extends TextView {
+
+    private HeaderTemplate template;
+
+    SectionHeaderView(@NonNull Context context) {
+        super(context);
+        this.setGravity(Gravity.CENTER_VERTICAL);
+        this.setSingleLine();
+        this.setEllipsize(TextUtils.TruncateAt.END);
+    }
+
+    void bind(HeaderTemplate template, @Nullable String title) {
+        if (this.template != template) {
+            this.template = template;
+            this.setPadding(template.paddingHorizontal, 0, template.paddingHorizontal, 0);
+            this.setBackgroundColor(template.backgroundColor);
+            this.setTextColor(template.titleColor);
+            this.setTextSize(TypedValue.COMPLEX_UNIT_SP, template.titleSize);
+        }
+        this.setText(title);
+    }
+}
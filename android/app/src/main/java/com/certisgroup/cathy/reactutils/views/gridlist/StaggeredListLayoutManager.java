@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.views.gridlist;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+/**
+ * Staggered layout that prefetches as far ahead as the grid layout does.
+ * Items keep their column once placed, full span items take a row of their own.
+ *
+ * @author Lingqi
+ */
+class StaggeredListLayoutManager extends StaggeredGridLayoutManager {
+
+    private int prefetchItemCount;
+    private int[] spanPositions;
+
+    StaggeredListLayoutManager(int spanCount) {
+        super(spanCount, VERTICAL);
+        prefetchItemCount = 0;
+        // moving items between columns to close gaps makes them jump while scrolling
+        this.setGapStrategy(GAP_HANDLING_NONE);
+    }
+
+    /**
+     * Items GapWorker binds ahead in the scroll direction on idle frame time,
+     * 0 for the default of one item per column
+     */
+    void setPrefetchItemCount(int prefetchItemCount) {
+        this.prefetchItemCount = prefetchItemCount;
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        if (prefetchItemCount <= 0 || dy == 0 || this.getChildCount() == 0) {
+            super.collectAdjacentPrefetchPositions(dx, dy, state, layoutPrefetchRegistry);
+            return;
+        }
+        int itemCount = state.getItemCount();
+        int distance = Math.abs(dy);
+        if (dy > 0) {
+            int last = this.findLastVisibleItemPosition();
+            for (int position = last + 1; position <= last + prefetchItemCount && position < itemCount; position++) {
+                layoutPrefetchRegistry.addPosition(position, distance);
+            }
+        } else {
+            int first = this.findFirstVisibleItemPosition();
+            for (int position = first - 1; position >= first - prefetchItemCount && position >= 0; position--) {
+                layoutPrefetchRegistry.addPosition(position, distance);
+            }
+        }
+    }
+
+    /**
+     * @return first position visible in any column, NO_POSITION when there is none
+     */
+    int findFirstVisibleItemPosition() {
+        this.findFirstVisibleItemPositions(this.getSpanPositions());
+        int first = RecyclerView.NO_POSITION;
+        for (int position : spanPositions) {
+            if (position != RecyclerView.NO_POSITION && (first == RecyclerView.NO_POSITION || position < first)) {
+                first = position;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @return last position visible in any column, NO_POSITION when there is none
+     */
+    int findLastVisibleItemPosition() {
+        this.findLastVisibleItemPositions(this.getSpanPositions());
+        int last = RecyclerView.NO_POSITION;
+        for (int position : spanPositions) {
+            last = Math.max(last, position);
+        }
+        return last;
+    }
+
+    private int[] getSpanPositions() {
+        if (spanPositions == null || spanPositions.length != this.getSpanCount()) {
+            spanPositions = new int[this.getSpanCount()];
+        }
+        return spanPositions;
+    }
+}
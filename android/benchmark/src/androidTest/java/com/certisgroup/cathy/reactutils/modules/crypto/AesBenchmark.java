@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AesModule encrypt and decryptAead against the bare Cipher they wrap, the difference is
+ * Base64 and the executor hop
+ *
+ * @author Lingqi
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class AesBenchmark {
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static Collection<Object[]> parameters() {
+        return CryptoBenchmarks.sizes();
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private byte[] data;
+    private byte[] iv;
+    private byte[] key;
+    private byte[] sealed;
+    private String dataBase64;
+    private String sealedBase64;
+    private String ivBase64;
+    private String gcmIvBase64;
+    private String keyBase64;
+    private AesModule module;
+
+    public AesBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        data = CryptoBenchmarks.randomBytes(size);
+        iv = CryptoBenchmarks.randomBytes(16);
+        key = CryptoBenchmarks.randomBytes(32);
+        dataBase64 = Base64.encodeToString(data, Base64.NO_WRAP);
+        ivBase64 = Base64.encodeToString(iv, Base64.NO_WRAP);
+        gcmIvBase64 = Base64.encodeToString(iv, 0, 12, Base64.NO_WRAP);
+        keyBase64 = Base64.encodeToString(key, Base64.NO_WRAP);
+        module = new AesModule(CryptoBenchmarks.reactContext());
+        // GCM refuses to encrypt twice under one IV, so decryption of one sealed input is measured
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"),
+            new GCMParameterSpec(128, iv, 0, 12));
+        sealed = cipher.doFinal(data);
+        sealedBase64 = Base64.encodeToString(sealed, Base64.NO_WRAP);
+    }
+
+    @After
+    public void tearDown() {
+        module.invalidate();
+    }
+
+    @Test
+    public void encryptCbc() throws Exception {
+        SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+        IvParameterSpec ivSpec = new IvParameterSpec(iv);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Cipher cipher = CryptoPrimitives.cipher("AES/CBC/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
+            cipher.doFinal(data);
+        }
+    }
+
+    @Test
+    public void encryptCbcModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.encrypt("CBC", ivBase64, keyBase64, dataBase64, promise);
+            promise.await();
+        }
+    }
+
+    @Test
+    public void encryptCtrModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.encrypt("CTR", ivBase64, keyBase64, dataBase64, promise);
+            promise.await();
+        }
+    }
+
+    @Test
+    public void decryptGcm() throws Exception {
+        SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+        GCMParameterSpec gcmSpec = new GCMParameterSpec(128, iv, 0, 12);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Cipher cipher = CryptoPrimitives.cipher("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmSpec);
+            cipher.doFinal(sealed);
+        }
+    }
+
+    @Test
+    public void decryptGcmModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.decryptAead("GCM", gcmIvBase64, keyBase64, sealedBase64, "", promise);
+            promise.await();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+
+/**
+ * Cost of the Base64 marshalling every module call pays on top of the cryptography
+ *
+ * @author Lingqi
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class Base64Benchmark {
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static Collection<Object[]> parameters() {
+        return CryptoBenchmarks.sizes();
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private byte[] data;
+    private String dataBase64;
+
+    public Base64Benchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() {
+        data = CryptoBenchmarks.randomBytes(size);
+        dataBase64 = Base64.encodeToString(data, Base64.NO_WRAP);
+    }
+
+    @Test
+    public void encode() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base64.encodeToString(data, Base64.NO_WRAP);
+        }
+    }
+
+    @Test
+    public void decode() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base64.decode(dataBase64, Base64.DEFAULT);
+        }
+    }
+}
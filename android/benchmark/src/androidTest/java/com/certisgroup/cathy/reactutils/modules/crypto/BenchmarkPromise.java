@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.PromiseImpl;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Promise a benchmark can block on until the module settles it, a rejection fails the benchmark
+ *
+ * @author Lingqi
+ */
+final class BenchmarkPromise extends PromiseImpl {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private Object value;
+    private String error;
+
+    BenchmarkPromise() {
+        super(null, null);
+    }
+
+    @Override
+    public void resolve(@Nullable Object value) {
+        this.value = value;
+        latch.countDown();
+    }
+
+    // every other reject overload ends up here
+    @Override
+    public void reject(@Nullable String code, @Nullable String message,
+                       @Nullable Throwable throwable, @Nullable WritableMap userInfo) {
+        error = code + ": " + message;
+        latch.countDown();
+    }
+
+    Object await() throws InterruptedException {
+        latch.await();
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return value;
+    }
+}
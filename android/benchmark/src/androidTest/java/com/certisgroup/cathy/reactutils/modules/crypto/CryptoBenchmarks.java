@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.content.Context;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.soloader.SoLoader;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shared inputs of the crypto benchmarks
+ *
+ * @author Lingqi
+ */
+final class CryptoBenchmarks {
+
+    /** 64B to 16MiB */
+    private static final int[] SIZES = {64, 1024, 64 * 1024, 1024 * 1024, 16 * 1024 * 1024};
+    /** RSA modulus sizes */
+    private static final int[] KEY_SIZES = {1024, 2048, 4096};
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private CryptoBenchmarks() { }
+
+    static Collection<Object[]> sizes() {
+        return parameters(SIZES);
+    }
+
+    static Collection<Object[]> keySizes() {
+        return parameters(KEY_SIZES);
+    }
+
+    private static Collection<Object[]> parameters(int[] values) {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int value : values) {
+            parameters.add(new Object[]{value});
+        }
+        return parameters;
+    }
+
+    static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Context for constructing modules, native maps (batch and key results) need SoLoader
+     */
+    static ReactApplicationContext reactContext() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        SoLoader.init(context, false);
+        return new ReactApplicationContext(context);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.concurrent.Future;
+
+/**
+ * DigestModule.digest against the bare MessageDigest it wraps, the difference is Base64
+ * and the executor hop. digestParallel hashes one input per executor thread at once.
+ *
+ * @author Lingqi
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class DigestBenchmark {
+
+    private static final String ALGO = "SHA-256";
+
+    @Parameterized.Parameters(name = "size={0}")
+    public static Collection<Object[]> parameters() {
+        return CryptoBenchmarks.sizes();
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int size;
+    private byte[] data;
+    private String dataBase64;
+    private DigestModule module;
+
+    public DigestBenchmark(int size) {
+        this.size = size;
+    }
+
+    @Before
+    public void setUp() {
+        data = CryptoBenchmarks.randomBytes(size);
+        dataBase64 = Base64.encodeToString(data, Base64.NO_WRAP);
+        module = new DigestModule(CryptoBenchmarks.reactContext());
+    }
+
+    @After
+    public void tearDown() {
+        module.invalidate();
+    }
+
+    @Test
+    public void digest() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CryptoPrimitives.messageDigest(ALGO).digest(data);
+        }
+    }
+
+    @Test
+    public void digestModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.digest(ALGO, dataBase64, promise);
+            promise.await();
+        }
+    }
+
+    @Test
+    public void digestParallel() throws Exception {
+        Future<?>[] futures = new Future<?>[CryptoExecutor.parallelism()];
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = CryptoExecutor.submit(() -> {
+                    try {
+                        CryptoPrimitives.messageDigest(ALGO).digest(data);
+                    } catch (NoSuchAlgorithmException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.security.KeyPair;
+import java.security.Signature;
+import java.util.Collection;
+
+/**
+ * RsaModule sign and verify of a 1KiB input against the bare Signature they wrap, per modulus size
+ *
+ * @author Lingqi
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class RsaBenchmark {
+
+    private static final String ALGO = "SHA256withRSA";
+    private static final int DATA_SIZE = 1024;
+
+    @Parameterized.Parameters(name = "modulusSize={0}")
+    public static Collection<Object[]> parameters() {
+        return CryptoBenchmarks.keySizes();
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int modulusSize;
+    private KeyPair keyPair;
+    private byte[] data;
+    private byte[] signature;
+    private String dataBase64;
+    private String signatureBase64;
+    private String privateId;
+    private String publicId;
+    private ReadableMap params;
+    private RsaModule module;
+
+    public RsaBenchmark(int modulusSize) {
+        this.modulusSize = modulusSize;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        keyPair = RsaKeyPool.generate(modulusSize);
+        data = CryptoBenchmarks.randomBytes(DATA_SIZE);
+        Signature sig = Signature.getInstance(ALGO);
+        sig.initSign(keyPair.getPrivate());
+        sig.update(data);
+        signature = sig.sign();
+        dataBase64 = Base64.encodeToString(data, Base64.NO_WRAP);
+        signatureBase64 = Base64.encodeToString(signature, Base64.NO_WRAP);
+        params = JavaOnlyMap.of("scheme", "PKCS1-v1_5", "hash", "SHA-256");
+        module = new RsaModule(CryptoBenchmarks.reactContext());
+        privateId = this.importKey("pkcs8", keyPair.getPrivate().getEncoded());
+        publicId = this.importKey("spki", keyPair.getPublic().getEncoded());
+    }
+
+    @After
+    public void tearDown() {
+        module.invalidate();
+    }
+
+    private String importKey(String format, byte[] keyBytes) throws InterruptedException {
+        BenchmarkPromise promise = new BenchmarkPromise();
+        module.importKey(format, Base64.encodeToString(keyBytes, Base64.NO_WRAP), promise);
+        return ((ReadableMap) promise.await()).getString("uuid");
+    }
+
+    @Test
+    public void sign() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Signature sig = CryptoPrimitives.signer(ALGO, keyPair.getPrivate());
+            sig.update(data);
+            sig.sign();
+        }
+    }
+
+    @Test
+    public void signModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.sign(params, privateId, dataBase64, promise);
+            promise.await();
+        }
+    }
+
+    @Test
+    public void verify() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Signature sig = CryptoPrimitives.verifier(ALGO, keyPair.getPublic());
+            sig.update(data);
+            sig.verify(signature);
+        }
+    }
+
+    @Test
+    public void verifyModule() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BenchmarkPromise promise = new BenchmarkPromise();
+            module.verify(params, publicId, dataBase64, signatureBase64, promise);
+            promise.await();
+        }
+    }
+}
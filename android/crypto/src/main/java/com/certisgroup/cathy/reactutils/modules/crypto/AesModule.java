@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.ProviderException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * RN module for AES algorithms
+ *
+ * @author Lingqi
+ */
+public class AesModule extends ReactContextBaseJavaModule {
+
+    private static final String AES_ALGO = "AES";
+    private static final Map<String, String> PADDING_MAP = paddingMap();
+    private static Map<String, String> paddingMap() {
+        Map<String, String> map = new HashMap<>();
+        map.put("CBC", "PKCS5Padding");
+        map.put("CTR", "NoPadding");
+        map.put("CFB8", "NoPadding");
+        return map;
+    }
+    private static final String GCM = "GCM";
+    private static final String CHACHA20_POLY1305 = "ChaCha20-Poly1305";
+    private static final int GCM_TAG_BITS = 128;
+    private static final Map<String, String> KEY_STORE_MODE_MAP = keyStoreModeMap();
+    private static Map<String, String> keyStoreModeMap() {
+        Map<String, String> map = new HashMap<>();
+        map.put("CBC", "AES/CBC/PKCS7Padding");
+        map.put("CTR", "AES/CTR/NoPadding");
+        map.put(GCM, "AES/GCM/NoPadding");
+        return map;
+    }
+
+    private final SessionRegistry<Cipher> cipherSessions;
+    private final Map<String, SecretKey> keyStoreKeys;
+
+    public AesModule(@NonNull ReactApplicationContext reactContext) {
+        super(reactContext);
+        cipherSessions = new SessionRegistry<>();
+        keyStoreKeys = new ConcurrentHashMap<>();
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "CryptoAES";
+    }
+
+    @ReactMethod
+    public void encrypt(String mode, String iv, String key, String data, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.transform(Cipher.ENCRYPT_MODE, mode, iv, key, data);
+                promise.resolve(result);
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("AES_ENCRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void decrypt(String mode, String iv, String key, String data, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.transform(Cipher.DECRYPT_MODE, mode, iv, key, data);
+                promise.resolve(result);
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("AES_DECRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Authenticated encryption, the tag is appended to the resolved cipher text
+     */
+    @ReactMethod
+    public void encryptAead(String mode, String iv, String key, String data, String aad,
+                            Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.aeadTransform(Cipher.ENCRYPT_MODE, mode, iv, key, data, aad);
+                promise.resolve(result);
+            } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException e) {
+                promise.reject("AES_ENCRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Authenticated decryption of cipher text with the tag appended,
+     * rejects with AES_AUTH_ERROR when the data or aad has been tampered with
+     */
+    @ReactMethod
+    public void decryptAead(String mode, String iv, String key, String data, String aad,
+                            Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.aeadTransform(Cipher.DECRYPT_MODE, mode, iv, key, data, aad);
+                promise.resolve(result);
+            } catch (AEADBadTagException e) {
+                promise.reject("AES_AUTH_ERROR", e.getMessage(), e);
+            } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException e) {
+                promise.reject("AES_DECRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Resolves an array of {data} or {error}, one per {iv, key, data} item
+     */
+    @ReactMethod
+    public void decryptBatch(String mode, ReadableArray items, Promise promise) {
+        int count = items.size();
+        String[] ivs = new String[count];
+        String[] keys = new String[count];
+        String[] dataArray = new String[count];
+        for (int i = 0; i < count; i++) {
+            ReadableMap item = items.getMap(i);
+            ivs[i] = item.getString("iv");
+            keys[i] = item.getString("key");
+            dataArray[i] = item.getString("data");
+        }
+        CryptoBatch.run(count, (index, result) -> {
+            String data = this.transform(Cipher.DECRYPT_MODE, mode, ivs[index], keys[index],
+                dataArray[index]);
+            result.putString("data", data);
+        }, promise);
+    }
+
+    @ReactMethod
+    public void encryptFile(String mode, String iv, String key, String source, String target,
+                            Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                Cipher cipher = this.initCipher(Cipher.ENCRYPT_MODE, mode, iv, key, true);
+                long written = FileCrypto.transform(cipher, FileCrypto.toFile(source),
+                    FileCrypto.toFile(target));
+                promise.resolve((double) written);
+            } catch (GeneralSecurityException | IllegalArgumentException | IOException e) {
+                promise.reject("AES_ENCRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void decryptFile(String mode, String iv, String key, String source, String target,
+                            Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                Cipher cipher = this.initCipher(Cipher.DECRYPT_MODE, mode, iv, key, true);
+                long written = FileCrypto.transform(cipher, FileCrypto.toFile(source),
+                    FileCrypto.toFile(target));
+                promise.resolve((double) written);
+            } catch (GeneralSecurityException | IllegalArgumentException | IOException e) {
+                promise.reject("AES_DECRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Generate a key inside AndroidKeyStore under alias, replacing any key stored there
+     */
+    @ReactMethod
+    public void generateKeyStoreKey(String alias, int keySize, boolean strongBox,
+                                    Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                keyStoreKeys.put(alias, KeyStoreHelper.generateAesKey(alias, keySize, strongBox));
+                promise.resolve(null);
+            } catch (GeneralSecurityException | ProviderException | IllegalArgumentException e) {
+                promise.reject("AES_GENERATE_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Same as encrypt, or encryptAead for GCM, with the key held by AndroidKeyStore under alias
+     */
+    @ReactMethod
+    public void encryptWithKeyStore(String mode, String iv, String alias, String data, String aad,
+                                    Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.keyStoreTransform(Cipher.ENCRYPT_MODE, mode, iv, alias, data,
+                    aad);
+                promise.resolve(result);
+            } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException
+                | ProviderException e) {
+                promise.reject("AES_ENCRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void decryptWithKeyStore(String mode, String iv, String alias, String data, String aad,
+                                    Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                String result = this.keyStoreTransform(Cipher.DECRYPT_MODE, mode, iv, alias, data,
+                    aad);
+                promise.resolve(result);
+            } catch (AEADBadTagException e) {
+                promise.reject("AES_AUTH_ERROR", e.getMessage(), e);
+            } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException
+                | ProviderException e) {
+                promise.reject("AES_DECRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void deleteKeyStoreKey(String alias, Promise promise) {
+        try {
+            keyStoreKeys.remove(alias);
+            KeyStoreHelper.delete(alias);
+            promise.resolve(null);
+        } catch (GeneralSecurityException e) {
+            promise.reject("AES_DELETE_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void createCipher(String operation, String mode, String iv, String key,
+                             Promise promise) {
+        try {
+            int op;
+            switch (operation) {
+                case "encrypt":
+                    op = Cipher.ENCRYPT_MODE;
+                    break;
+                case "decrypt":
+                    op = Cipher.DECRYPT_MODE;
+                    break;
+                default:
+                    promise.reject("AES_SESSION_ERROR", "Operation not supported");
+                    return;
+            }
+            Cipher cipher = this.initCipher(op, mode, iv, key, false);
+            promise.resolve(cipherSessions.add(cipher));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            promise.reject("AES_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void update(String handle, String data, Promise promise) {
+        try {
+            Cipher cipher = cipherSessions.get(handle);
+            byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+            byte[] resultBytes = cipher.update(dataBytes);
+            String result = resultBytes != null
+                ? Base64.encodeToString(resultBytes, Base64.NO_WRAP) : "";
+            promise.resolve(result);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            cipherSessions.remove(handle);
+            promise.reject("AES_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void doFinal(String handle, String data, Promise promise) {
+        Cipher cipher = cipherSessions.remove(handle);
+        if (cipher == null) {
+            promise.reject("AES_SESSION_ERROR", "Session does not exist");
+            return;
+        }
+        try {
+            byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+            byte[] resultBytes = cipher.doFinal(dataBytes);
+            promise.resolve(Base64.encodeToString(resultBytes, Base64.NO_WRAP));
+        } catch (GeneralSecurityException | IllegalArgumentException | IllegalStateException e) {
+            promise.reject("AES_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void releaseCipher(String handle) {
+        cipherSessions.remove(handle);
+    }
+
+    @Override
+    public void invalidate() {
+        cipherSessions.clear();
+        keyStoreKeys.clear();
+        super.invalidate();
+    }
+
+    /**
+     * @param pooled whether the cipher may come from the per-thread pool, i.e. is used to
+     *               completion on this thread, cipher sessions need an instance of their own
+     */
+    private Cipher initCipher(int op, String mode, String iv, String key, boolean pooled)
+            throws GeneralSecurityException, IllegalArgumentException {
+        String padding = PADDING_MAP.get(mode);
+        if (padding == null) {
+            throw new IllegalArgumentException("Mode not supported");
+        }
+        byte[] ivBytes = Base64.decode(iv, Base64.DEFAULT);
+        byte[] keyBytes = Base64.decode(key, Base64.DEFAULT);
+        SecretKey secretKey = new SecretKeySpec(keyBytes, AES_ALGO);
+        IvParameterSpec ivParamSpec = new IvParameterSpec(ivBytes);
+        String transformation = AES_ALGO + "/" + mode + "/" + padding;
+        Cipher cipher = pooled
+            ? CryptoPrimitives.cipher(transformation) : Cipher.getInstance(transformation);
+        cipher.init(op, secretKey, ivParamSpec);
+        return cipher;
+    }
+
+    private String aeadTransform(int op, String mode, String iv, String key, String data,
+                                 String aad) throws GeneralSecurityException, IllegalArgumentException {
+        byte[] ivBytes = Base64.decode(iv, Base64.DEFAULT);
+        byte[] keyBytes = Base64.decode(key, Base64.DEFAULT);
+        Cipher cipher;
+        switch (mode) {
+            case GCM:
+                cipher = CryptoPrimitives.cipher("AES/GCM/NoPadding");
+                cipher.init(op, new SecretKeySpec(keyBytes, AES_ALGO),
+                    new GCMParameterSpec(GCM_TAG_BITS, ivBytes));
+                break;
+            case CHACHA20_POLY1305:
+                // provided by Conscrypt from Android 9
+                cipher = CryptoPrimitives.cipher("ChaCha20/Poly1305/NoPadding");
+                cipher.init(op, new SecretKeySpec(keyBytes, "ChaCha20"),
+                    new IvParameterSpec(ivBytes));
+                break;
+            default:
+                throw new IllegalArgumentException("Mode not supported");
+        }
+        if (!aad.isEmpty()) {
+            cipher.updateAAD(Base64.decode(aad, Base64.DEFAULT));
+        }
+        byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+        byte[] resultBytes = cipher.doFinal(dataBytes);
+        return Base64.encodeToString(resultBytes, Base64.NO_WRAP);
+    }
+
+    private String keyStoreTransform(int op, String mode, String iv, String alias, String data,
+                                     String aad) throws GeneralSecurityException, IllegalArgumentException {
+        String transformation = KEY_STORE_MODE_MAP.get(mode);
+        if (transformation == null) {
+            throw new IllegalArgumentException("Mode not supported");
+        }
+        SecretKey secretKey = keyStoreKeys.get(alias);
+        if (secretKey == null) {
+            secretKey = KeyStoreHelper.loadAesKey(alias);
+            if (secretKey == null) {
+                throw new IllegalArgumentException("Key does not exist");
+            }
+            keyStoreKeys.put(alias, secretKey);
+        }
+        byte[] ivBytes = Base64.decode(iv, Base64.DEFAULT);
+        Cipher cipher = CryptoPrimitives.cipher(transformation, secretKey);
+        if (GCM.equals(mode)) {
+            cipher.init(op, secretKey, new GCMParameterSpec(GCM_TAG_BITS, ivBytes));
+            if (!aad.isEmpty()) {
+                cipher.updateAAD(Base64.decode(aad, Base64.DEFAULT));
+            }
+        } else {
+            cipher.init(op, secretKey, new IvParameterSpec(ivBytes));
+        }
+        byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+        byte[] resultBytes = cipher.doFinal(dataBytes);
+        return Base64.encodeToString(resultBytes, Base64.NO_WRAP);
+    }
+
+    private String transform(int op, String mode, String iv, String key, String data)
+            throws GeneralSecurityException, IllegalArgumentException {
+        Cipher cipher = this.initCipher(op, mode, iv, key, true);
+        byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+        // Cipher is copy-safe, so when the output fits (decrypt, stream modes) run in place,
+        // otherwise write into one exactly sized buffer
+        int outputSize = cipher.getOutputSize(dataBytes.length);
+        byte[] resultBytes = outputSize <= dataBytes.length ? dataBytes : new byte[outputSize];
+        int resultLength = cipher.doFinal(dataBytes, 0, dataBytes.length, resultBytes, 0);
+        return Base64.encodeToString(resultBytes, 0, resultLength, Base64.NO_WRAP);
+    }
+}
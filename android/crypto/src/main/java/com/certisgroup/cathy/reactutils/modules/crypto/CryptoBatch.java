@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the items of a batch call across the crypto executor and resolves one array of results,
+ * an item that fails gets {error} in its slot instead of failing the batch
+ *
+ * @author Lingqi
+ */
+final class CryptoBatch {
+
+    // below this many items per part the thread hop costs more than it saves
+    private static final int MIN_PART_SIZE = 8;
+
+    interface ItemTask {
+        void process(int index, WritableMap result)
+            throws GeneralSecurityException, IllegalArgumentException;
+    }
+
+    private CryptoBatch() { }
+
+    static void run(int count, ItemTask task, Promise promise) {
+        if (count == 0) {
+            promise.resolve(Arguments.createArray());
+            return;
+        }
+        WritableMap[] results = new WritableMap[count];
+        int parts = Math.max(1, Math.min(CryptoExecutor.parallelism(), count / MIN_PART_SIZE));
+        AtomicInteger remaining = new AtomicInteger(parts);
+        for (int part = 0; part < parts; part++) {
+            int start = count * part / parts;
+            int end = count * (part + 1) / parts;
+            CryptoExecutor.execute(() -> {
+                for (int i = start; i < end; i++) {
+                    WritableMap result = Arguments.createMap();
+                    try {
+                        task.process(i, result);
+                    } catch (GeneralSecurityException | IllegalArgumentException
+                        | IllegalStateException e) {
+                        result = Arguments.createMap();
+                        result.putString("error", e.getMessage());
+                    }
+                    results[i] = result;
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    WritableArray array = Arguments.createArray();
+                    for (WritableMap result : results) {
+                        array.pushMap(result);
+                    }
+                    promise.resolve(array);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+
+/**
+ * Per-thread instances of JCA primitives keyed by algorithm, saving the provider lookup on hot paths.
+ * An instance must be used to completion on the thread that fetched it and never be retained;
+ * callers always init ciphers themselves, digests come back reset.
+ * Macs and signers are created per operation, pooled ones would keep private keys,
+ * passwords and derived secrets alive after the caller released them.
+ *
+ * @author Lingqi
+ */
+final class CryptoPrimitives {
+
+    private static final ThreadLocal<Map<String, Cipher>> CIPHERS = new MapThreadLocal<>();
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = new MapThreadLocal<>();
+    private static final ThreadLocal<Map<String, KeyFactory>> KEY_FACTORIES = new MapThreadLocal<>();
+    private static final ThreadLocal<Map<String, KeyedSignature>> VERIFIERS = new MapThreadLocal<>();
+
+    private CryptoPrimitives() { }
+
+    static Cipher cipher(String transformation) throws GeneralSecurityException {
+        return cipher(transformation, transformation);
+    }
+
+    /**
+     * Cipher for use with the key. Provider selection is delayed until init, so keys from
+     * different providers, e.g. AndroidKeyStore, get instances of their own.
+     */
+    static Cipher cipher(String transformation, Key key) throws GeneralSecurityException {
+        return cipher(transformation, transformation + "@" + key.getClass().getName());
+    }
+
+    private static Cipher cipher(String transformation, String poolKey)
+            throws GeneralSecurityException {
+        Map<String, Cipher> ciphers = CIPHERS.get();
+        Cipher cipher = ciphers.get(poolKey);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            ciphers.put(poolKey, cipher);
+        }
+        return cipher;
+    }
+
+    static MessageDigest messageDigest(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest messageDigest = digests.get(algorithm);
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(algorithm);
+            digests.put(algorithm, messageDigest);
+        } else {
+            messageDigest.reset();
+        }
+        return messageDigest;
+    }
+
+    /**
+     * New Mac for one operation, to be dropped with its key once done
+     */
+    static Mac mac(String algorithm) throws NoSuchAlgorithmException {
+        return Mac.getInstance(algorithm);
+    }
+
+    static KeyFactory keyFactory(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, KeyFactory> keyFactories = KEY_FACTORIES.get();
+        KeyFactory keyFactory = keyFactories.get(algorithm);
+        if (keyFactory == null) {
+            keyFactory = KeyFactory.getInstance(algorithm);
+            keyFactories.put(algorithm, keyFactory);
+        }
+        return keyFactory;
+    }
+
+    /**
+     * New Signature ready to sign with the key, to be dropped with it once done
+     */
+    static Signature signer(String algorithm, PrivateKey privateKey) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(algorithm);
+        signature.initSign(privateKey);
+        return signature;
+    }
+
+    /**
+     * Signature ready to verify with the key, only re-initialised when the key changes.
+     * Public keys are not secret, keeping the last one per thread is harmless.
+     */
+    static Signature verifier(String algorithm, PublicKey publicKey) throws GeneralSecurityException {
+        KeyedSignature keyed = keyedSignature(VERIFIERS.get(), algorithm, publicKey);
+        if (keyed.key != publicKey) {
+            keyed.key = null;
+            keyed.signature.initVerify(publicKey);
+            keyed.key = publicKey;
+        }
+        return keyed.signature;
+    }
+
+    /**
+     * Forget the keys of this thread's verifiers after an operation failed half way,
+     * so their next use starts clean
+     */
+    static void resetSignatures() {
+        for (KeyedSignature keyed : VERIFIERS.get().values()) {
+            keyed.key = null;
+        }
+    }
+
+    private static KeyedSignature keyedSignature(Map<String, KeyedSignature> signatures,
+                                                 String algorithm, Key key)
+            throws NoSuchAlgorithmException {
+        // separate instances per key class, see cipher(String, Key)
+        String poolKey = algorithm + "@" + key.getClass().getName();
+        KeyedSignature keyed = signatures.get(poolKey);
+        if (keyed == null) {
+            keyed = new KeyedSignature(Signature.getInstance(algorithm));
+            signatures.put(poolKey, keyed);
+        }
+        return keyed;
+    }
+
+    // sign() and verify() reset a Signature to its initialised state, so it stays bound to the key
+    private static final class KeyedSignature {
+
+        final Signature signature;
+        Key key;
+
+        KeyedSignature(Signature signature) {
+            this.signature = signature;
+        }
+    }
+
+    private static final class MapThreadLocal<T> extends ThreadLocal<Map<String, T>> {
+
+        @Override
+        protected Map<String, T> initialValue() {
+            return new HashMap<>();
+        }
+    }
+}
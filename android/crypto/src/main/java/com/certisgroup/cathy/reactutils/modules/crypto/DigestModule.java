@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * RN module for digest algorithms
+ *
+ * @author Lingqi
+ */
+public class DigestModule extends ReactContextBaseJavaModule {
+
+    private final SessionRegistry<MessageDigest> digestSessions;
+
+    public DigestModule(@NonNull ReactApplicationContext reactContext) {
+        super(reactContext);
+        digestSessions = new SessionRegistry<>();
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "CryptoDigest";
+    }
+
+    @ReactMethod
+    public void digest(String algo, String data, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+                MessageDigest messageDigest = CryptoPrimitives.messageDigest(algo);
+                byte[] digestBytes = messageDigest.digest(dataBytes);
+                String digest = Base64.encodeToString(digestBytes, Base64.NO_WRAP);
+                promise.resolve(digest);
+            } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
+                promise.reject("DIGEST_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Resolves an array of {digest} or {error}, one per item of data
+     */
+    @ReactMethod
+    public void digestBatch(String algo, ReadableArray data, Promise promise) {
+        String[] items = new String[data.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = data.getString(i);
+        }
+        CryptoBatch.run(items.length, (index, result) -> {
+            byte[] dataBytes = Base64.decode(items[index], Base64.DEFAULT);
+            MessageDigest messageDigest = CryptoPrimitives.messageDigest(algo);
+            byte[] digestBytes = messageDigest.digest(dataBytes);
+            result.putString("digest", Base64.encodeToString(digestBytes, Base64.NO_WRAP));
+        }, promise);
+    }
+
+    @ReactMethod
+    public void digestFile(String algo, String path, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                MessageDigest messageDigest = CryptoPrimitives.messageDigest(algo);
+                byte[] digestBytes = FileCrypto.digest(messageDigest, FileCrypto.toFile(path));
+                String digest = Base64.encodeToString(digestBytes, Base64.NO_WRAP);
+                promise.resolve(digest);
+            } catch (NoSuchAlgorithmException | IOException e) {
+                promise.reject("DIGEST_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void createDigest(String algo, Promise promise) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(algo);
+            promise.resolve(digestSessions.add(messageDigest));
+        } catch (NoSuchAlgorithmException e) {
+            promise.reject("DIGEST_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void update(String handle, String data, Promise promise) {
+        try {
+            MessageDigest messageDigest = digestSessions.get(handle);
+            byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+            messageDigest.update(dataBytes);
+            promise.resolve(null);
+        } catch (IllegalArgumentException e) {
+            promise.reject("DIGEST_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fork the session at its current state, e.g. to hash several inputs sharing a prefix
+     */
+    @ReactMethod
+    public void cloneDigest(String handle, Promise promise) {
+        try {
+            MessageDigest messageDigest = digestSessions.get(handle);
+            MessageDigest clone = (MessageDigest) messageDigest.clone();
+            promise.resolve(digestSessions.add(clone));
+        } catch (IllegalArgumentException | CloneNotSupportedException e) {
+            promise.reject("DIGEST_SESSION_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void finishDigest(String handle, Promise promise) {
+        MessageDigest messageDigest = digestSessions.remove(handle);
+        if (messageDigest == null) {
+            promise.reject("DIGEST_SESSION_ERROR", "Session does not exist");
+            return;
+        }
+        byte[] digestBytes = messageDigest.digest();
+        promise.resolve(Base64.encodeToString(digestBytes, Base64.NO_WRAP));
+    }
+
+    @ReactMethod
+    public void releaseDigest(String handle) {
+        digestSessions.remove(handle);
+    }
+
+    @Override
+    public void invalidate() {
+        digestSessions.clear();
+        super.invalidate();
+    }
+}
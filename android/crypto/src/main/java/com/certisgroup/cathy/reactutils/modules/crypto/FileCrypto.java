@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Cipher;
+
+/**
+ * Streams files through digest and cipher primitives with a constant memory footprint
+ *
+ * @author Lingqi
+ */
+final class FileCrypto {
+
+    private static final String FILE_SCHEME = "file://";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // room for the blocks a cipher may hold back or flush in addition to the input
+    private static final int BLOCK_MARGIN = 32;
+    private static final long MAP_THRESHOLD = 4 * 1024 * 1024;
+    private static final long MAP_WINDOW = 8 * 1024 * 1024;
+
+    private FileCrypto() { }
+
+    static File toFile(String path) {
+        if (path.startsWith(FILE_SCHEME)) {
+            path = path.substring(FILE_SCHEME.length());
+        }
+        return new File(path);
+    }
+
+    static byte[] digest(MessageDigest messageDigest, File source) throws IOException {
+        try (FileChannel input = new FileInputStream(source).getChannel()) {
+            long size = input.size();
+            if (size >= MAP_THRESHOLD) {
+                for (long offset = 0; offset < size; offset += MAP_WINDOW) {
+                    long length = Math.min(MAP_WINDOW, size - offset);
+                    messageDigest.update(input.map(FileChannel.MapMode.READ_ONLY, offset, length));
+                }
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (input.read(buffer) != -1) {
+                    buffer.flip();
+                    messageDigest.update(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * @return number of bytes written to target
+     */
+    static long transform(Cipher cipher, File source, File target)
+            throws IOException, GeneralSecurityException {
+        if (source.getCanonicalPath().equals(target.getCanonicalPath())) {
+            throw new IllegalArgumentException("Source and target are the same file");
+        }
+        try (FileChannel input = new FileInputStream(source).getChannel()) {
+            // opened outside the try so a target that could not be opened is left alone
+            FileChannel output = new FileOutputStream(target).getChannel();
+            boolean completed = false;
+            try {
+                ByteBuffer outBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE + BLOCK_MARGIN);
+                long written = 0;
+                long size = input.size();
+                if (size >= MAP_THRESHOLD) {
+                    for (long offset = 0; offset < size; offset += MAP_WINDOW) {
+                        long length = Math.min(MAP_WINDOW, size - offset);
+                        ByteBuffer window = input.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                        while (window.hasRemaining()) {
+                            ByteBuffer slice = window.duplicate();
+                            slice.limit(Math.min(window.position() + BUFFER_SIZE, window.limit()));
+                            window.position(slice.limit());
+                            written += update(cipher, slice, outBuffer, output);
+                        }
+                    }
+                } else {
+                    ByteBuffer inBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                    while (input.read(inBuffer) != -1) {
+                        inBuffer.flip();
+                        written += update(cipher, inBuffer, outBuffer, output);
+                        inBuffer.clear();
+                    }
+                }
+                outBuffer.clear();
+                cipher.doFinal(ByteBuffer.allocate(0), outBuffer);
+                outBuffer.flip();
+                written += writeFully(outBuffer, output);
+                completed = true;
+                return written;
+            } finally {
+                try {
+                    output.close();
+                } finally {
+                    if (!completed) {
+                        //noinspection ResultOfMethodCallIgnored
+                        target.delete();
+                    }
+                }
+            }
+        }
+    }
+
+    private static long update(Cipher cipher, ByteBuffer inBuffer, ByteBuffer outBuffer,
+                               FileChannel output) throws IOException, GeneralSecurityException {
+        outBuffer.clear();
+        cipher.update(inBuffer, outBuffer);
+        outBuffer.flip();
+        return writeFully(outBuffer, output);
+    }
+
+    private static long writeFully(ByteBuffer buffer, FileChannel output) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += output.write(buffer);
+        }
+        return written;
+    }
+}
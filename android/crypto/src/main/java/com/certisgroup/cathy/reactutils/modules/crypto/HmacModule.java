@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * RN module for HMAC algorithms
+ *
+ * @author Lingqi
+ */
+public class HmacModule extends ReactContextBaseJavaModule {
+
+    private static final Map<String, String> MAC_ALGO_MAP = macAlgoMap();
+    private static Map<String, String> macAlgoMap() {
+        Map<String, String> map = new HashMap<>();
+        map.put("SHA-1", "HmacSHA1");
+        map.put("SHA-256", "HmacSHA256");
+        map.put("SHA-384", "HmacSHA384");
+        map.put("SHA-512", "HmacSHA512");
+        return map;
+    }
+
+    public HmacModule(@NonNull ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "CryptoHMAC";
+    }
+
+    @ReactMethod
+    public void sign(String hash, String key, String data, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                byte[] macBytes = mac(hash, Base64.decode(key, Base64.DEFAULT),
+                    Base64.decode(data, Base64.DEFAULT));
+                promise.resolve(Base64.encodeToString(macBytes, Base64.NO_WRAP));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("HMAC_SIGN_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void verify(String hash, String key, String data, String mac, Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                byte[] macBytes = mac(hash, Base64.decode(key, Base64.DEFAULT),
+                    Base64.decode(data, Base64.DEFAULT));
+                byte[] expected = Base64.decode(mac, Base64.DEFAULT);
+                // constant time comparison
+                promise.resolve(MessageDigest.isEqual(macBytes, expected));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("HMAC_VERIFY_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * @return new Mac initialised with the key
+     */
+    static Mac initMac(String hash, byte[] keyBytes)
+            throws GeneralSecurityException, IllegalArgumentException {
+        String algorithm = MAC_ALGO_MAP.get(hash);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Hash not valid");
+        }
+        Mac mac = CryptoPrimitives.mac(algorithm);
+        // an empty key is valid for HMAC but SecretKeySpec rejects it, pad it to one zero byte
+        byte[] macKey = keyBytes.length > 0 ? keyBytes : new byte[1];
+        mac.init(new SecretKeySpec(macKey, algorithm));
+        return mac;
+    }
+
+    private static byte[] mac(String hash, byte[] keyBytes, byte[] dataBytes)
+            throws GeneralSecurityException, IllegalArgumentException {
+        return initMac(hash, keyBytes).doFinal(dataBytes);
+    }
+}
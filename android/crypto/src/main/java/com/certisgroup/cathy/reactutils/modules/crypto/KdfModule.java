@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Mac;
+
+/**
+ * RN module for key derivation algorithms. Built on HMAC so every hash works on every
+ * API level and passwords are taken as raw bytes.
+ *
+ * @author Lingqi
+ */
+public class KdfModule extends ReactContextBaseJavaModule {
+
+    public KdfModule(@NonNull ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "CryptoKDF";
+    }
+
+    /**
+     * PBKDF2 (RFC 8018), length in bytes
+     */
+    @ReactMethod
+    public void pbkdf2(String hash, String password, String salt, int iterations, int length,
+                       Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                if (iterations < 1 || length < 1) {
+                    throw new IllegalArgumentException("Iterations or length not valid");
+                }
+                byte[] passwordBytes = Base64.decode(password, Base64.DEFAULT);
+                byte[] saltBytes = Base64.decode(salt, Base64.DEFAULT);
+                byte[] keyBytes = derivePbkdf2(hash, passwordBytes, saltBytes, iterations, length);
+                promise.resolve(Base64.encodeToString(keyBytes, Base64.NO_WRAP));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("KDF_PBKDF2_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * HKDF (RFC 5869), length in bytes
+     */
+    @ReactMethod
+    public void hkdf(String hash, String ikm, String salt, String info, int length,
+                     Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                byte[] ikmBytes = Base64.decode(ikm, Base64.DEFAULT);
+                byte[] saltBytes = Base64.decode(salt, Base64.DEFAULT);
+                byte[] infoBytes = Base64.decode(info, Base64.DEFAULT);
+                byte[] keyBytes = deriveHkdf(hash, ikmBytes, saltBytes, infoBytes, length);
+                promise.resolve(Base64.encodeToString(keyBytes, Base64.NO_WRAP));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("KDF_HKDF_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    private static byte[] derivePbkdf2(String hash, byte[] password, byte[] salt, int iterations,
+                                       int length) throws GeneralSecurityException {
+        Mac mac = HmacModule.initMac(hash, password);
+        int hashLength = mac.getMacLength();
+        byte[] result = new byte[length];
+        byte[] u = new byte[hashLength];
+        byte[] t = new byte[hashLength];
+        byte[] blockIndex = new byte[4];
+        for (int block = 1, offset = 0; offset < length; block++, offset += hashLength) {
+            blockIndex[0] = (byte) (block >>> 24);
+            blockIndex[1] = (byte) (block >>> 16);
+            blockIndex[2] = (byte) (block >>> 8);
+            blockIndex[3] = (byte) block;
+            mac.update(salt);
+            mac.update(blockIndex);
+            mac.doFinal(u, 0);
+            System.arraycopy(u, 0, t, 0, hashLength);
+            for (int i = 1; i < iterations; i++) {
+                mac.update(u);
+                mac.doFinal(u, 0);
+                for (int j = 0; j < hashLength; j++) {
+                    t[j] ^= u[j];
+                }
+            }
+            System.arraycopy(t, 0, result, offset, Math.min(hashLength, length - offset));
+        }
+        return result;
+    }
+
+    private static byte[] deriveHkdf(String hash, byte[] ikm, byte[] salt, byte[] info, int length)
+            throws GeneralSecurityException {
+        Mac mac = HmacModule.initMac(hash, salt);
+        int hashLength = mac.getMacLength();
+        if (length < 1 || length > 255 * hashLength) {
+            throw new IllegalArgumentException("Length not valid");
+        }
+        // extract, an empty salt keys HMAC exactly like hash length zeros would
+        byte[] prk = mac.doFinal(ikm);
+        // expand
+        mac = HmacModule.initMac(hash, prk);
+        byte[] result = new byte[length];
+        byte[] t = new byte[0];
+        for (int block = 1, offset = 0; offset < length; block++, offset += hashLength) {
+            mac.update(t);
+            mac.update(info);
+            mac.update((byte) block);
+            t = mac.doFinal();
+            System.arraycopy(t, 0, result, offset, Math.min(hashLength, length - offset));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe LRU cache of parsed keys by uuid, bounded in size and idle time.
+ * Keys imported from encoded bytes are also indexed by content hash so re-imports share one entry,
+ * which is counted once per import and dropped when the last one is released.
+ * Only keys with a content hash can be imported again, keys without one are never evicted.
+ *
+ * @author Lingqi
+ */
+final class KeyCache<T> {
+
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final LinkedHashMap<String, Entry<T>> entries;
+    private final Map<String, String> uuidByContent;
+    private int evictableCount;
+
+    KeyCache(int maxSize, long maxIdleMillis) {
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        uuidByContent = new HashMap<>();
+    }
+
+    synchronized void put(String uuid, T key, @Nullable String contentHash) {
+        long now = SystemClock.elapsedRealtime();
+        this.evictIdle(now);
+        Entry<T> previous = entries.put(uuid, new Entry<>(key, contentHash, now));
+        if (previous != null) {
+            this.unindex(uuid, previous);
+        }
+        if (contentHash != null) {
+            uuidByContent.put(contentHash, uuid);
+            evictableCount++;
+        }
+        // access order puts the least recently used entry first
+        Iterator<Map.Entry<String, Entry<T>>> iterator = entries.entrySet().iterator();
+        while (evictableCount > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Entry<T>> eldest = iterator.next();
+            if (eldest.getValue().contentHash != null) {
+                this.unindex(eldest.getKey(), eldest.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    @Nullable
+    synchronized T get(String uuid) {
+        long now = SystemClock.elapsedRealtime();
+        this.evictIdle(now);
+        Entry<T> entry = entries.get(uuid);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.key;
+    }
+
+    /**
+     * @return uuid of a live entry imported from the same content, or null
+     */
+    @Nullable
+    synchronized String findByContent(String contentHash) {
+        String uuid = uuidByContent.get(contentHash);
+        return uuid != null && this.get(uuid) != null ? uuid : null;
+    }
+
+    /**
+     * Import once more the live entry of the same content, to be released separately
+     *
+     * @return its uuid, or null when there is none
+     */
+    @Nullable
+    synchronized String retainByContent(String contentHash) {
+        String uuid = this.findByContent(contentHash);
+        if (uuid != null) {
+            entries.get(uuid).references++;
+        }
+        return uuid;
+    }
+
+    /**
+     * @return content hash the live entry was stored with, or null
+     */
+    @Nullable
+    synchronized String getContentHash(String uuid) {
+        Entry<T> entry = this.get(uuid) != null ? entries.get(uuid) : null;
+        return entry != null ? entry.contentHash : null;
+    }
+
+    /**
+     * Release one import of the entry, it is removed with the last one
+     *
+     * @return whether the entry existed
+     */
+    synchronized boolean release(String uuid) {
+        Entry<T> entry = entries.get(uuid);
+        if (entry == null) {
+            return false;
+        }
+        if (--entry.references <= 0) {
+            this.remove(uuid);
+        }
+        return true;
+    }
+
+    /**
+     * Remove the entry whoever imported it
+     */
+    synchronized boolean remove(String uuid) {
+        Entry<T> entry = entries.remove(uuid);
+        if (entry != null) {
+            this.unindex(uuid, entry);
+        }
+        return entry != null;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        uuidByContent.clear();
+        evictableCount = 0;
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Map.Entry<String, Entry<T>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry<T>> eldest = iterator.next();
+            if (eldest.getValue().contentHash == null) {
+                continue;
+            }
+            if (now - eldest.getValue().lastAccess < maxIdleMillis) {
+                break;
+            }
+            this.unindex(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    private void unindex(String uuid, Entry<T> entry) {
+        if (entry.contentHash == null) {
+            return;
+        }
+        evictableCount--;
+        // the content may have been stored again under a newer uuid since
+        if (uuid.equals(uuidByContent.get(entry.contentHash))) {
+            uuidByContent.remove(entry.contentHash);
+        }
+    }
+
+    private static final class Entry<T> {
+
+        final T key;
+        @Nullable final String contentHash;
+        long lastAccess;
+        int references;
+
+        Entry(T key, @Nullable String contentHash, long lastAccess) {
+            this.key = key;
+            this.contentHash = contentHash;
+            this.lastAccess = lastAccess;
+            references = 1;
+        }
+    }
+}
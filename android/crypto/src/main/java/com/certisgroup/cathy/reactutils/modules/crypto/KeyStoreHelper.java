@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.security.keystore.StrongBoxUnavailableException;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.spec.RSAKeyGenParameterSpec;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * Keys generated inside AndroidKeyStore (StrongBox when asked and available), referenced by alias.
+ * Key material never leaves the keystore and survives restarts. Keystore failures during
+ * generation surface as the unchecked ProviderException.
+ *
+ * @author Lingqi
+ */
+final class KeyStoreHelper {
+
+    private static final String PROVIDER = "AndroidKeyStore";
+
+    private KeyStoreHelper() { }
+
+    private static void checkSupported() throws GeneralSecurityException {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            throw new GeneralSecurityException("KeyStore keys need Android 6.0");
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    static KeyPair generateRsaKeyPair(String alias, int modulusSize, boolean strongBox)
+            throws GeneralSecurityException {
+        checkSupported();
+        KeyGenParameterSpec.Builder builder = new KeyGenParameterSpec.Builder(alias,
+            KeyProperties.PURPOSE_SIGN | KeyProperties.PURPOSE_VERIFY
+                | KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+            .setAlgorithmParameterSpec(new RSAKeyGenParameterSpec(modulusSize,
+                RSAKeyGenParameterSpec.F4))
+            .setDigests(KeyProperties.DIGEST_SHA1, KeyProperties.DIGEST_SHA256,
+                KeyProperties.DIGEST_SHA384, KeyProperties.DIGEST_SHA512)
+            .setSignaturePaddings(KeyProperties.SIGNATURE_PADDING_RSA_PKCS1)
+            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_RSA_PKCS1,
+                KeyProperties.ENCRYPTION_PADDING_RSA_OAEP)
+            .setCertificateSerialNumber(BigInteger.ONE);
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance(KeyProperties.KEY_ALGORITHM_RSA,
+            PROVIDER);
+        if (strongBox && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            try {
+                keyPairGen.initialize(builder.setIsStrongBoxBacked(true).build());
+                return keyPairGen.generateKeyPair();
+            } catch (StrongBoxUnavailableException e) {
+                builder.setIsStrongBoxBacked(false);
+            }
+        }
+        keyPairGen.initialize(builder.build());
+        return keyPairGen.generateKeyPair();
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    static SecretKey generateAesKey(String alias, int keySize, boolean strongBox)
+            throws GeneralSecurityException {
+        checkSupported();
+        // IVs are chosen by the caller, same as for keys passed in from JS
+        KeyGenParameterSpec.Builder builder = new KeyGenParameterSpec.Builder(alias,
+            KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+            .setKeySize(keySize)
+            .setBlockModes(KeyProperties.BLOCK_MODE_CBC, KeyProperties.BLOCK_MODE_CTR,
+                KeyProperties.BLOCK_MODE_GCM)
+            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_PKCS7,
+                KeyProperties.ENCRYPTION_PADDING_NONE)
+            .setRandomizedEncryptionRequired(false);
+        KeyGenerator keyGen = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, PROVIDER);
+        if (strongBox && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            try {
+                keyGen.init(builder.setIsStrongBoxBacked(true).build());
+                return keyGen.generateKey();
+            } catch (StrongBoxUnavailableException e) {
+                builder.setIsStrongBoxBacked(false);
+            }
+        }
+        keyGen.init(builder.build());
+        return keyGen.generateKey();
+    }
+
+    @Nullable
+    static KeyPair loadRsaKeyPair(String alias) throws GeneralSecurityException {
+        KeyStore keyStore = load();
+        Certificate certificate = keyStore.getCertificate(alias);
+        Key privateKey = keyStore.getKey(alias, null);
+        if (certificate == null && privateKey == null) {
+            return null;
+        }
+        if (certificate == null || !(privateKey instanceof PrivateKey)) {
+            throw new IllegalArgumentException("Key does not exist or wrong type");
+        }
+        return new KeyPair(certificate.getPublicKey(), (PrivateKey) privateKey);
+    }
+
+    @Nullable
+    static SecretKey loadAesKey(String alias) throws GeneralSecurityException {
+        Key key = load().getKey(alias, null);
+        if (key != null && !(key instanceof SecretKey)) {
+            throw new IllegalArgumentException("Key does not exist or wrong type");
+        }
+        return (SecretKey) key;
+    }
+
+    static void delete(String alias) throws GeneralSecurityException {
+        load().deleteEntry(alias);
+    }
+
+    private static KeyStore load() throws GeneralSecurityException {
+        checkSupported();
+        try {
+            KeyStore keyStore = KeyStore.getInstance(PROVIDER);
+            keyStore.load(null);
+            return keyStore;
+        } catch (IOException e) {
+            throw new GeneralSecurityException(e.getMessage(), e);
+        }
+    }
+}
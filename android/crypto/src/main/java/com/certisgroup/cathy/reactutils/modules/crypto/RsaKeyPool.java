@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.os.Process;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import androidx.annotation.Nullable;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in pool of pre-generated RSA key pairs, refilled on a background thread.
+ * Pairs are held in memory only, never persisted.
+ *
+ * @author Lingqi
+ */
+final class RsaKeyPool {
+
+    private static final String TAG = "RSA_KEY_POOL";
+    // shared by every pool, a pool outliving its module must not leave a thread behind
+    private static final ExecutorService REFILL_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rsa-key-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final SparseIntArray capacities;
+    private final SparseArray<Deque<KeyPair>> pools;
+    private final SparseArray<Stats> stats;
+    private boolean refillScheduled;
+
+    RsaKeyPool() {
+        capacities = new SparseIntArray();
+        pools = new SparseArray<>();
+        stats = new SparseArray<>();
+        refillScheduled = false;
+    }
+
+    static KeyPair generate(int modulusSize) throws GeneralSecurityException {
+        BigInteger publicExponent = RSAKeyGenParameterSpec.F4;
+        AlgorithmParameterSpec rsaSpec = new RSAKeyGenParameterSpec(modulusSize, publicExponent);
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance("RSA");
+        keyPairGen.initialize(rsaSpec);
+        return keyPairGen.genKeyPair();
+    }
+
+    /**
+     * Keep up to capacity pairs of the modulus size ready, 0 disables pooling for it
+     */
+    synchronized void configure(int modulusSize, int capacity) {
+        if (capacity > 0) {
+            capacities.put(modulusSize, capacity);
+            Deque<KeyPair> pool = pools.get(modulusSize);
+            while (pool != null && pool.size() > capacity) {
+                pool.pollLast();
+            }
+            this.scheduleRefill();
+        } else {
+            capacities.delete(modulusSize);
+            pools.remove(modulusSize);
+        }
+    }
+
+    @Nullable
+    synchronized KeyPair poll(int modulusSize) {
+        if (capacities.get(modulusSize) <= 0) {
+            return null;
+        }
+        Deque<KeyPair> pool = pools.get(modulusSize);
+        KeyPair keyPair = pool != null ? pool.pollFirst() : null;
+        Stats sizeStats = stats.get(modulusSize);
+        if (sizeStats == null) {
+            sizeStats = new Stats();
+            stats.put(modulusSize, sizeStats);
+        }
+        if (keyPair != null) {
+            sizeStats.hits++;
+        } else {
+            sizeStats.misses++;
+        }
+        this.scheduleRefill();
+        return keyPair;
+    }
+
+    /**
+     * @return polls of the modulus size served from the pool while it was configured
+     */
+    synchronized long getHits(int modulusSize) {
+        Stats sizeStats = stats.get(modulusSize);
+        return sizeStats != null ? sizeStats.hits : 0;
+    }
+
+    /**
+     * @return polls of the modulus size that found the pool empty while it was configured
+     */
+    synchronized long getMisses(int modulusSize) {
+        Stats sizeStats = stats.get(modulusSize);
+        return sizeStats != null ? sizeStats.misses : 0;
+    }
+
+    synchronized int getSize(int modulusSize) {
+        Deque<KeyPair> pool = pools.get(modulusSize);
+        return pool != null ? pool.size() : 0;
+    }
+
+    /**
+     * Drop every pair and setting, a refill in progress stops after its current pair
+     */
+    synchronized void clear() {
+        capacities.clear();
+        pools.clear();
+        stats.clear();
+    }
+
+    private void scheduleRefill() {
+        if (!refillScheduled) {
+            refillScheduled = true;
+            REFILL_EXECUTOR.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+        boolean drained = false;
+        try {
+            this.refillShortfalls();
+            drained = true;
+        } finally {
+            if (!drained) {
+                // let the next poll or configure schedule again after an unexpected failure
+                synchronized (this) {
+                    refillScheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate pairs until every configured size is at capacity, clearing refillScheduled
+     * in the same lock as the last check so no shortfall is missed
+     */
+    private void refillShortfalls() {
+        while (true) {
+            int modulusSize;
+            synchronized (this) {
+                modulusSize = this.nextShortfall();
+                if (modulusSize == 0) {
+                    refillScheduled = false;
+                    return;
+                }
+            }
+            try {
+                KeyPair keyPair = generate(modulusSize);
+                synchronized (this) {
+                    // the size may have been disabled while generating
+                    if (capacities.get(modulusSize) > 0) {
+                        Deque<KeyPair> pool = pools.get(modulusSize);
+                        if (pool == null) {
+                            pool = new ArrayDeque<>();
+                            pools.put(modulusSize, pool);
+                        }
+                        pool.addLast(keyPair);
+                    }
+                }
+            } catch (GeneralSecurityException e) {
+                Log.w(TAG, "Failed to refill " + modulusSize + " bit key pairs", e);
+                synchronized (this) {
+                    capacities.delete(modulusSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a configured modulus size with fewer pairs than its capacity, or 0
+     */
+    private int nextShortfall() {
+        for (int i = 0; i < capacities.size(); i++) {
+            int modulusSize = capacities.keyAt(i);
+            Deque<KeyPair> pool = pools.get(modulusSize);
+            int size = pool != null ? pool.size() : 0;
+            if (size < capacities.valueAt(i)) {
+                return modulusSize;
+            }
+        }
+        return 0;
+    }
+
+    private static final class Stats {
+        long hits;
+        long misses;
+    }
+}
@@ -0,0 +1,558 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.ProviderException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.KeySpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+
+/**
+ * RN module for RSA algorithms
+ *
+ * @author Lingqi
+ */
+public class RsaModule extends ReactContextBaseJavaModule {
+
+    private static final String PKCS1_v1_5 = "PKCS1-v1_5";
+    private static final Map<String, String> SIG_DIGEST_MAP = sigDigestMap();
+    private static Map<String, String> sigDigestMap() {
+        Map<String, String> map = new HashMap<>();
+        map.put("SHA-1", "SHA1withRSA");
+        map.put("SHA-256", "SHA256withRSA");
+        map.put("SHA-384", "SHA384withRSA");
+        map.put("SHA-512", "SHA512withRSA");
+        return map;
+    }
+    private static final Map<String, MGF1ParameterSpec> MGF1_SPEC_MAP = mgf1SpecMap();
+    private static Map<String, MGF1ParameterSpec> mgf1SpecMap() {
+        Map<String, MGF1ParameterSpec> map = new HashMap<>();
+        map.put("SHA-1", MGF1ParameterSpec.SHA1);
+        map.put("SHA-256", MGF1ParameterSpec.SHA256);
+        map.put("SHA-384", MGF1ParameterSpec.SHA384);
+        map.put("SHA-512", MGF1ParameterSpec.SHA512);
+        return map;
+    }
+
+    private static final String KEY_STORE_CONTENT = "AndroidKeyStore:";
+    private static final String KEY_NOT_FOUND = "RSA_KEY_NOT_FOUND";
+    private static final int KEY_CACHE_SIZE = 32;
+    private static final long KEY_IDLE_MILLIS = 30 * 60 * 1000;
+
+    private final KeyCache<PrivateKey> privateKeyCache;
+    private final KeyCache<PublicKey> publicKeyCache;
+    private final Set<KeyGenTask> pendingKeyGens;
+    private final RsaKeyPool keyPool;
+
+    public RsaModule(@NonNull ReactApplicationContext reactContext) {
+        super(reactContext);
+        privateKeyCache = new KeyCache<>(KEY_CACHE_SIZE, KEY_IDLE_MILLIS);
+        publicKeyCache = new KeyCache<>(KEY_CACHE_SIZE, KEY_IDLE_MILLIS);
+        pendingKeyGens = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        keyPool = new RsaKeyPool();
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "CryptoRSA";
+    }
+
+    @ReactMethod
+    public void sign(ReadableMap params, String uuid, String data, Promise promise) {
+        if (!PKCS1_v1_5.equals(params.getString("scheme"))) {
+            promise.reject("RSA_SIGN_ERROR", "Scheme not supported");
+            return;
+        }
+        String hash = params.getString("hash");
+        CryptoExecutor.execute(() -> {
+            try {
+                String algorithm = SIG_DIGEST_MAP.get(hash);
+                PrivateKey privateKey = privateKeyCache.get(uuid);
+                if (algorithm == null || privateKey == null) {
+                    throw new IllegalArgumentException("Hash or Key not valid");
+                }
+                byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+                Signature sig = CryptoPrimitives.signer(algorithm, privateKey);
+                sig.update(dataBytes);
+                byte[] sigBytes = sig.sign();
+                String signature = Base64.encodeToString(sigBytes, Base64.NO_WRAP);
+                promise.resolve(signature);
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                CryptoPrimitives.resetSignatures();
+                promise.reject("RSA_SIGN_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void verify(ReadableMap params, String uuid, String data, String signature,
+                       Promise promise) {
+        if (!PKCS1_v1_5.equals(params.getString("scheme"))) {
+            promise.reject("RSA_VERIFY_ERROR", "Scheme not supported");
+            return;
+        }
+        String hash = params.getString("hash");
+        try {
+            String algorithm = SIG_DIGEST_MAP.get(hash);
+            PublicKey publicKey = publicKeyCache.get(uuid);
+            if (algorithm == null) {
+                throw new IllegalArgumentException("Hash not valid");
+            }
+            // a code of its own so callers can re-import a key evicted from the cache
+            if (publicKey == null) {
+                promise.reject(KEY_NOT_FOUND, "Key does not exist");
+                return;
+            }
+            byte[] dataBytes = Base64.decode(data, Base64.DEFAULT);
+            byte[] sigBytes = Base64.decode(signature, Base64.DEFAULT);
+            Signature sig = CryptoPrimitives.verifier(algorithm, publicKey);
+            sig.update(dataBytes);
+            boolean valid = sig.verify(sigBytes);
+            promise.resolve(valid);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            CryptoPrimitives.resetSignatures();
+            promise.reject("RSA_VERIFY_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verify many {data, signature} items against one key,
+     * resolves an array of {valid} or {error}, one per item
+     */
+    @ReactMethod
+    public void verifyBatch(ReadableMap params, String uuid, ReadableArray items,
+                            Promise promise) {
+        if (!PKCS1_v1_5.equals(params.getString("scheme"))) {
+            promise.reject("RSA_VERIFY_ERROR", "Scheme not supported");
+            return;
+        }
+        String algorithm = SIG_DIGEST_MAP.get(params.getString("hash"));
+        PublicKey publicKey = publicKeyCache.get(uuid);
+        if (algorithm == null) {
+            promise.reject("RSA_VERIFY_ERROR", "Hash not valid");
+            return;
+        }
+        if (publicKey == null) {
+            promise.reject(KEY_NOT_FOUND, "Key does not exist");
+            return;
+        }
+        int count = items.size();
+        String[] dataArray = new String[count];
+        String[] signatures = new String[count];
+        for (int i = 0; i < count; i++) {
+            ReadableMap item = items.getMap(i);
+            dataArray[i] = item.getString("data");
+            signatures[i] = item.getString("signature");
+        }
+        CryptoBatch.run(count, (index, result) -> {
+            try {
+                byte[] dataBytes = Base64.decode(dataArray[index], Base64.DEFAULT);
+                byte[] sigBytes = Base64.decode(signatures[index], Base64.DEFAULT);
+                Signature sig = CryptoPrimitives.verifier(algorithm, publicKey);
+                sig.update(dataBytes);
+                result.putBoolean("valid", sig.verify(sigBytes));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                CryptoPrimitives.resetSignatures();
+                throw e;
+            }
+        }, promise);
+    }
+
+    @ReactMethod
+    public void encrypt(ReadableMap params, String uuid, String data, Promise promise) {
+        try {
+            String padding = params.getString("padding");
+            PublicKey publicKey = publicKeyCache.get(uuid);
+            if (padding == null || publicKey == null) {
+                throw new IllegalArgumentException("Padding or Key not valid");
+            }
+            String result;
+            switch (padding) {
+                case "PKCS1":
+                    result = this.pkcs1Cipher(Cipher.ENCRYPT_MODE, publicKey, data);
+                    break;
+                case "OAEP":
+                    String hash = params.getString("hash");
+                    result = this.oaepCipher(Cipher.ENCRYPT_MODE, hash, publicKey, data,
+                        this.isKeyStoreKey(publicKeyCache, uuid));
+                    break;
+                default:
+                    promise.reject("RSA_ENCRYPT_ERROR", "Padding not supported");
+                    return;
+            }
+            promise.resolve((result));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            promise.reject("RSA_ENCRYPT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void decrypt(ReadableMap params, String uuid, String data, Promise promise) {
+        String padding = params.getString("padding");
+        String hash = params.hasKey("hash") ? params.getString("hash") : null;
+        CryptoExecutor.execute(() -> {
+            try {
+                PrivateKey privateKey = privateKeyCache.get(uuid);
+                if (padding == null || privateKey == null) {
+                    throw new IllegalArgumentException("Padding or Key not valid");
+                }
+                String result;
+                switch (padding) {
+                    case "PKCS1":
+                        result = this.pkcs1Cipher(Cipher.DECRYPT_MODE, privateKey, data);
+                        break;
+                    case "OAEP":
+                        result = this.oaepCipher(Cipher.DECRYPT_MODE, hash, privateKey, data,
+                            this.isKeyStoreKey(privateKeyCache, uuid));
+                        break;
+                    default:
+                        promise.reject("RSA_DECRYPT_ERROR", "Padding not supported");
+                        return;
+                }
+                promise.resolve(result);
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                promise.reject("RSA_DECRYPT_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void generateKeyPair(int modulusSize, Promise promise) {
+        KeyPair pooledKeyPair = keyPool.poll(modulusSize);
+        if (pooledKeyPair != null) {
+            promise.resolve(this.storeKeyPair(pooledKeyPair, null));
+            return;
+        }
+        KeyGenTask task = new KeyGenTask(modulusSize, promise);
+        pendingKeyGens.add(task);
+        task.future = CryptoExecutor.submit(task);
+    }
+
+    /**
+     * Reject every key generation still pending, results of running ones are discarded
+     */
+    @ReactMethod
+    public void cancelKeyGeneration() {
+        for (KeyGenTask task : pendingKeyGens) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Keep up to capacity key pairs of modulusSize pre-generated, 0 turns the pool off
+     */
+    @ReactMethod
+    public void configureKeyPool(int modulusSize, int capacity) {
+        keyPool.configure(modulusSize, capacity);
+    }
+
+    @ReactMethod
+    public void getKeyPoolStats(int modulusSize, Promise promise) {
+        WritableMap map = Arguments.createMap();
+        map.putDouble("hits", keyPool.getHits(modulusSize));
+        map.putDouble("misses", keyPool.getMisses(modulusSize));
+        map.putInt("available", keyPool.getSize(modulusSize));
+        promise.resolve(map);
+    }
+
+    @ReactMethod
+    public void importKey(String format, String key, Promise promise) {
+        try {
+            byte[] keyBytes = Base64.decode(key, Base64.DEFAULT);
+            KeyCache<? extends Key> keyCache;
+            switch (format) {
+                case "pkcs8":
+                    keyCache = privateKeyCache;
+                    break;
+                case "spki":
+                    keyCache = publicKeyCache;
+                    break;
+                default:
+                    promise.reject("RSA_IMPORT_ERROR", "Format not supported");
+                    return;
+            }
+            // importing the same bytes again returns the key parsed before
+            String contentHash = Base64.encodeToString(
+                CryptoPrimitives.messageDigest("SHA-256").digest(keyBytes), Base64.NO_WRAP);
+            String uuid = keyCache.retainByContent(contentHash);
+            if (uuid == null) {
+                KeyFactory keyFactory = CryptoPrimitives.keyFactory("RSA");
+                uuid = UUID.randomUUID().toString();
+                if ("pkcs8".equals(format)) {
+                    KeySpec pkcs8KeySpec = new PKCS8EncodedKeySpec(keyBytes);
+                    PrivateKey privateKey = keyFactory.generatePrivate(pkcs8KeySpec);
+                    privateKeyCache.put(uuid, privateKey, contentHash);
+                } else {
+                    KeySpec x509KeySpec = new X509EncodedKeySpec(keyBytes);
+                    PublicKey publicKey = keyFactory.generatePublic(x509KeySpec);
+                    publicKeyCache.put(uuid, publicKey, contentHash);
+                }
+            }
+            WritableMap map = Arguments.createMap();
+            map.putString("uuid", uuid);
+            map.putString("format", format);
+            promise.resolve(map);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            promise.reject("RSA_IMPORT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void exportKey(String format, String uuid, Promise promise) {
+        Key key;
+        switch (format) {
+            case "pkcs8":
+                key = privateKeyCache.get(uuid);
+                break;
+            case "spki":
+                key = publicKeyCache.get(uuid);
+                break;
+            default:
+                promise.reject("RSA_EXPORT_ERROR", "Format not supported");
+                return;
+        }
+        if (key != null) {
+            byte[] keyBytes = key.getEncoded();
+            if (keyBytes == null) {
+                promise.reject("RSA_EXPORT_ERROR", "Key not exportable");
+                return;
+            }
+            String keyString = Base64.encodeToString(keyBytes, Base64.NO_WRAP);
+            promise.resolve(keyString);
+        } else {
+            promise.reject("RSA_EXPORT_ERROR", "Key does not exist");
+        }
+    }
+
+    /**
+     * Generate a key pair inside AndroidKeyStore under alias, replacing any pair stored there.
+     * The private key cannot be exported, the pair survives restarts.
+     */
+    @ReactMethod
+    public void generateKeyStoreKeyPair(String alias, int modulusSize, boolean strongBox,
+                                        Promise promise) {
+        CryptoExecutor.execute(() -> {
+            try {
+                KeyPair keyPair = KeyStoreHelper.generateRsaKeyPair(alias, modulusSize, strongBox);
+                promise.resolve(this.storeKeyPair(keyPair, KEY_STORE_CONTENT + alias));
+            } catch (GeneralSecurityException | ProviderException | IllegalArgumentException e) {
+                promise.reject("RSA_GENERATE_ERROR", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Key pair stored in AndroidKeyStore under alias, loading it again returns the same uuids
+     */
+    @ReactMethod
+    public void loadKeyStoreKeyPair(String alias, Promise promise) {
+        try {
+            String contentHash = KEY_STORE_CONTENT + alias;
+            String privateId = privateKeyCache.retainByContent(contentHash);
+            String publicId = publicKeyCache.retainByContent(contentHash);
+            if (privateId != null && publicId != null) {
+                promise.resolve(this.keyPairMap(privateId, publicId));
+                return;
+            }
+            // half a pair is loaded again as a whole
+            if (privateId != null) {
+                privateKeyCache.release(privateId);
+            }
+            if (publicId != null) {
+                publicKeyCache.release(publicId);
+            }
+            KeyPair keyPair = KeyStoreHelper.loadRsaKeyPair(alias);
+            if (keyPair == null) {
+                promise.reject("RSA_IMPORT_ERROR", "Key does not exist");
+                return;
+            }
+            promise.resolve(this.storeKeyPair(keyPair, contentHash));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            promise.reject("RSA_IMPORT_ERROR", e.getMessage(), e);
+        }
+    }
+
+    @ReactMethod
+    public void deleteKeyStoreKey(String alias, Promise promise) {
+        try {
+            KeyStoreHelper.delete(alias);
+            String contentHash = KEY_STORE_CONTENT + alias;
+            String privateId = privateKeyCache.findByContent(contentHash);
+            if (privateId != null) {
+                privateKeyCache.remove(privateId);
+            }
+            String publicId = publicKeyCache.findByContent(contentHash);
+            if (publicId != null) {
+                publicKeyCache.remove(publicId);
+            }
+            promise.resolve(null);
+        } catch (GeneralSecurityException e) {
+            promise.reject("RSA_DELETE_ERROR", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Release a key, one imported from the same bytes elsewhere shares its uuid
+     * and is dropped once every import of it is released
+     */
+    @ReactMethod
+    public void releaseKey(String uuid) {
+        if (!privateKeyCache.release(uuid)) {
+            publicKeyCache.release(uuid);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        this.cancelKeyGeneration();
+        keyPool.clear();
+        privateKeyCache.clear();
+        publicKeyCache.clear();
+        super.invalidate();
+    }
+
+    private WritableMap storeKeyPair(KeyPair keyPair, @Nullable String contentHash) {
+        String privateId = UUID.randomUUID().toString();
+        String publicId = UUID.randomUUID().toString();
+        privateKeyCache.put(privateId, keyPair.getPrivate(), contentHash);
+        publicKeyCache.put(publicId, keyPair.getPublic(), contentHash);
+        return keyPairMap(privateId, publicId);
+    }
+
+    private WritableMap keyPairMap(String privateId, String publicId) {
+        WritableMap privateKey = Arguments.createMap();
+        privateKey.putString("uuid", privateId);
+        privateKey.putString("format", "pkcs8");
+        WritableMap publicKey = Arguments.createMap();
+        publicKey.putString("uuid", publicId);
+        publicKey.putString("format", "spki");
+        WritableMap map = Arguments.createMap();
+        map.putMap("privateKey", privateKey);
+        map.putMap("publicKey", publicKey);
+        return map;
+    }
+
+    private String pkcs1Cipher(int op, Key key, String data)
+            throws GeneralSecurityException, IllegalArgumentException {
+        Cipher cipher = CryptoPrimitives.cipher("RSA/ECB/PKCS1Padding", key);
+        cipher.init(op, key);
+        byte[] input = Base64.decode(data, Base64.DEFAULT);
+        byte[] result = cipher.doFinal(input);
+        return Base64.encodeToString(result, Base64.NO_WRAP);
+    }
+
+    private boolean isKeyStoreKey(KeyCache<?> cache, String uuid) {
+        String contentHash = cache.getContentHash(uuid);
+        return contentHash != null && contentHash.startsWith(KEY_STORE_CONTENT);
+    }
+
+    /**
+     * AndroidKeyStore takes MGF1 with SHA-1 only before Android 14, both halves of
+     * a keystore pair use it whatever the OAEP hash so they always round trip
+     */
+    private String oaepCipher(int op, String hash, Key key, String data, boolean keyStore)
+            throws GeneralSecurityException, IllegalArgumentException {
+        Cipher cipher = CryptoPrimitives.cipher("RSA/ECB/OAEPPadding", key);
+        MGF1ParameterSpec mgf1Spec = MGF1_SPEC_MAP.get(hash);
+        if (mgf1Spec == null) {
+            throw new IllegalArgumentException("Hash not valid");
+        }
+        if (keyStore) {
+            mgf1Spec = MGF1ParameterSpec.SHA1;
+        }
+        OAEPParameterSpec oaepSpec = new OAEPParameterSpec(hash, "MGF1", mgf1Spec,
+            PSource.PSpecified.DEFAULT);
+        cipher.init(op, key, oaepSpec);
+        byte[] input = Base64.decode(data, Base64.DEFAULT);
+        byte[] result = cipher.doFinal(input);
+        return Base64.encodeToString(result, Base64.NO_WRAP);
+    }
+
+    //**************************************************************
+    // Key generation running on the crypto executor
+    //****************************************************************
+
+    private class KeyGenTask implements Runnable {
+
+        private final int modulusSize;
+        private final Promise promise;
+        private final AtomicBoolean settled;
+        Future<?> future;
+
+        KeyGenTask(int modulusSize, Promise promise) {
+            this.modulusSize = modulusSize;
+            this.promise = promise;
+            settled = new AtomicBoolean(false);
+        }
+
+        @Override
+        public void run() {
+            try {
+                KeyPair keyPair = RsaKeyPool.generate(modulusSize);
+                if (settled.compareAndSet(false, true)) {
+                    promise.resolve(storeKeyPair(keyPair, null));
+                }
+            } catch (GeneralSecurityException | RuntimeException e) {
+                // submit() would keep a runtime exception in the future, never settling the promise
+                if (settled.compareAndSet(false, true)) {
+                    promise.reject("RSA_GENERATE_ERROR", e.getMessage(), e);
+                }
+            } finally {
+                pendingKeyGens.remove(this);
+            }
+        }
+
+        void cancel() {
+            if (settled.compareAndSet(false, true)) {
+                pendingKeyGens.remove(this);
+                if (future != null) {
+                    future.cancel(false);
+                }
+                promise.reject("RSA_GENERATE_CANCELLED", "Key generation cancelled");
+            }
+        }
+    }
+}
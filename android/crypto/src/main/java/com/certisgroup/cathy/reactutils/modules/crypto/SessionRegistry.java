@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 Certis CISCO Security Pte Ltd
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information of
+ * Certis CISCO Security Pte Ltd. ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement you
+ * entered into with Certis CISCO Security Pte Ltd.
+ */
+package com.certisgroup.cathy.reactutils.modules.crypto;
+
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Native side state of multi-call crypto operations, referenced from JS by handle
+ *
+ * @author Lingqi
+ */
+final class SessionRegistry<T> {
+
+    private final Map<String, T> sessions;
+
+    SessionRegistry() {
+        sessions = new ConcurrentHashMap<>();
+    }
+
+    String add(T session) {
+        String handle = UUID.randomUUID().toString();
+        sessions.put(handle, session);
+        return handle;
+    }
+
+    T get(String handle) throws IllegalArgumentException {
+        T session = sessions.get(handle);
+        if (session == null) {
+            throw new IllegalArgumentException("Session does not exist");
+        }
+        return session;
+    }
+
+    @Nullable
+    T remove(String handle) {
+        return sessions.remove(handle);
+    }
+
+    void clear() {
+        sessions.clear();
+    }
+}
@@ -14,11 +14,17 @@ import Base64 from 'base64-js';
 const CryptoDigest = NativeModules.CryptoDigest;
 const CryptoAES = NativeModules.CryptoAES;
 const CryptoRSA = NativeModules.CryptoRSA;
+const CryptoHMAC = NativeModules.CryptoHMAC;
+const CryptoKDF = NativeModules.CryptoKDF;
 
 type AES_Mode = 'CBC' | 'CTR' | 'CFB8';
+type AEAD_Mode = 'GCM' | 'ChaCha20-Poly1305';
+type KeyStore_Mode = 'CBC' | 'CTR' | 'GCM';
 type KeyFormat = 'pkcs8' | 'spki';
 type Hash = 'SHA-1' | 'SHA-256' | 'SHA-384' | 'SHA-512';
 type ModulusSize = 512 | 768 | 1024 | 2048 | 3072 | 4096;
+/** Raw bytes, or a string that is already Base64 encoded and can cross the bridge as is */
+type BinaryLike = Uint8Array | string;
 
 export interface SigParams {
     scheme: 'PKCS1-v1_5';
@@ -39,6 +45,42 @@ export interface RsaKeyPair {
     privateKey: RsaKey;
     publicKey: RsaKey;
 }
+/** Result of one item in a batch call, exactly one of value and error is set */
+export interface BatchResult<T> {
+    value?: T;
+    error?: string;
+}
+export interface AesBatchItem {
+    ivBytes: Uint8Array;
+    keyBytes: Uint8Array;
+    dataBytes: BinaryLike;
+}
+export interface SignatureBatchItem {
+    dataBytes: BinaryLike;
+    signature: BinaryLike;
+}
+/**
+ * Incremental digest kept on the native side, call digest() or release() when done
+ */
+export interface DigestSession {
+    update(dataBytes: BinaryLike): Promise<void>;
+    clone(): Promise<DigestSession>;
+    digest(): Promise<Uint8Array>;
+    release(): void;
+}
+export interface KeyPoolStats {
+    hits: number;
+    misses: number;
+    available: number;
+}
+/**
+ * Chunked AES operation kept on the native side, call final() or release() when done
+ */
+export interface AesCipher {
+    update(dataBytes: BinaryLike): Promise<Uint8Array>;
+    final(dataBytes?: BinaryLike): Promise<Uint8Array>;
+    release(): void;
+}
 
 /**
  * Native Crypto module. API similar to Web Crypto (window.crypto.subtle)
@@ -56,12 +98,29 @@ export const Crypto = {
             });
         });
     },
+    createDigest(alg: Hash): Promise<DigestSession> {
+        return CryptoDigest.createDigest(alg).then(toDigestSession);
+    },
+    /**
+     * Hash many inputs in one bridge call
+     */
+    digestBatch(alg: Hash, items: BinaryLike[]): Promise<BatchResult<Uint8Array>[]> {
+        return CryptoDigest.digestBatch(alg, items.map(toBase64)).then(
+            (results: NativeBatchResult[]) => results.map((result) => toBatchResult(result.digest, result.error))
+        );
+    },
+    /**
+     * Hash a local file natively, its content never enters the JS heap
+     */
+    digestFile(alg: Hash, path: string): Promise<Uint8Array> {
+        return CryptoDigest.digestFile(alg, path).then(Base64.toByteArray);
+    },
     AES: {
-        encrypt(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: Uint8Array): Promise<Uint8Array> {
+        encrypt(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: BinaryLike): Promise<Uint8Array> {
             return new Promise((resolve, reject) => {
                 const iv = Base64.fromByteArray(ivBytes);
                 const key = Base64.fromByteArray(keyBytes);
-                const data = Base64.fromByteArray(dataBytes);
+                const data = toBase64(dataBytes);
                 CryptoAES.encrypt(mode, iv, key, data).then((result: string) => {
                     resolve(Base64.toByteArray(result));
                 }).catch((error: Error) => {
@@ -69,17 +128,151 @@ export const Crypto = {
                 });
             });
         },
-        decrypt(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: Uint8Array): Promise<Uint8Array> {
+        decrypt(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: BinaryLike): Promise<Uint8Array> {
             return new Promise((resolve, reject) => {
                 const iv = Base64.fromByteArray(ivBytes);
                 const key = Base64.fromByteArray(keyBytes);
-                const data = Base64.fromByteArray(dataBytes);
+                const data = toBase64(dataBytes);
                 CryptoAES.decrypt(mode, iv, key, data).then((result: string) => {
                     resolve(Base64.toByteArray(result));
                 }).catch((error: Error) => {
                     reject(error);
                 });
             });
+        },
+        /**
+         * Authenticated encryption, the 16 byte tag is appended to the result
+         */
+        encryptAead(mode: AEAD_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: BinaryLike,
+                    aadBytes: BinaryLike = ''): Promise<Uint8Array> {
+            const iv = Base64.fromByteArray(ivBytes);
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoAES.encryptAead(mode, iv, key, toBase64(dataBytes), toBase64(aadBytes))
+                .then(Base64.toByteArray);
+        },
+        /**
+         * Authenticated decryption of data with the tag appended,
+         * rejects with code AES_AUTH_ERROR when data or aad has been tampered with
+         */
+        decryptAead(mode: AEAD_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, dataBytes: BinaryLike,
+                    aadBytes: BinaryLike = ''): Promise<Uint8Array> {
+            const iv = Base64.fromByteArray(ivBytes);
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoAES.decryptAead(mode, iv, key, toBase64(dataBytes), toBase64(aadBytes))
+                .then(Base64.toByteArray);
+        },
+        /**
+         * Decrypt many payloads in one bridge call
+         */
+        decryptBatch(mode: AES_Mode, items: AesBatchItem[]): Promise<BatchResult<Uint8Array>[]> {
+            const nativeItems = items.map((item) => ({
+                iv: Base64.fromByteArray(item.ivBytes),
+                key: Base64.fromByteArray(item.keyBytes),
+                data: toBase64(item.dataBytes)
+            }));
+            return CryptoAES.decryptBatch(mode, nativeItems).then(
+                (results: NativeBatchResult[]) => results.map((result) => toBatchResult(result.data, result.error))
+            );
+        },
+        /**
+         * Encrypt a local file into target natively, resolves with the number of bytes written
+         */
+        encryptFile(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, source: string,
+                    target: string): Promise<number> {
+            const iv = Base64.fromByteArray(ivBytes);
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoAES.encryptFile(mode, iv, key, source, target);
+        },
+        /**
+         * Decrypt a local file into target natively, resolves with the number of bytes written
+         */
+        decryptFile(mode: AES_Mode, ivBytes: Uint8Array, keyBytes: Uint8Array, source: string,
+                    target: string): Promise<number> {
+            const iv = Base64.fromByteArray(ivBytes);
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoAES.decryptFile(mode, iv, key, source, target);
+        },
+        createCipher(operation: 'encrypt' | 'decrypt', mode: AES_Mode, ivBytes: Uint8Array,
+                     keyBytes: Uint8Array): Promise<AesCipher> {
+            const iv = Base64.fromByteArray(ivBytes);
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoAES.createCipher(operation, mode, iv, key).then((handle: string): AesCipher => ({
+                update(dataBytes: BinaryLike): Promise<Uint8Array> {
+                    return CryptoAES.update(handle, toBase64(dataBytes)).then(Base64.toByteArray);
+                },
+                final(dataBytes: BinaryLike = ''): Promise<Uint8Array> {
+                    return CryptoAES.doFinal(handle, toBase64(dataBytes)).then(Base64.toByteArray);
+                },
+                release(): void {
+                    CryptoAES.releaseCipher(handle);
+                }
+            }));
+        },
+        /**
+         * Android only. Generate a non-exportable key in AndroidKeyStore under alias (Android 6.0+),
+         * StrongBox backed when asked and available
+         */
+        generateKeyStoreKey(alias: string, keySize: 128 | 192 | 256, strongBox = false): Promise<void> {
+            return CryptoAES.generateKeyStoreKey(alias, keySize, strongBox);
+        },
+        /**
+         * Android only. Encrypt with the keystore key under alias, aad is used by GCM only
+         */
+        encryptWithKeyStore(mode: KeyStore_Mode, ivBytes: Uint8Array, alias: string, dataBytes: BinaryLike,
+                            aadBytes: BinaryLike = ''): Promise<Uint8Array> {
+            const iv = Base64.fromByteArray(ivBytes);
+            return CryptoAES.encryptWithKeyStore(mode, iv, alias, toBase64(dataBytes), toBase64(aadBytes))
+                .then(Base64.toByteArray);
+        },
+        /**
+         * Android only. Decrypt with the keystore key under alias, aad is used by GCM only
+         */
+        decryptWithKeyStore(mode: KeyStore_Mode, ivBytes: Uint8Array, alias: string, dataBytes: BinaryLike,
+                            aadBytes: BinaryLike = ''): Promise<Uint8Array> {
+            const iv = Base64.fromByteArray(ivBytes);
+            return CryptoAES.decryptWithKeyStore(mode, iv, alias, toBase64(dataBytes), toBase64(aadBytes))
+                .then(Base64.toByteArray);
+        },
+        deleteKeyStoreKey(alias: string): Promise<void> {
+            return CryptoAES.deleteKeyStoreKey(alias);
+        }
+    },
+    HMAC: {
+        /**
+         * keyBytes are raw bytes only, a string key would be taken as Base64 without notice
+         */
+        sign(hash: Hash, keyBytes: Uint8Array, dataBytes: BinaryLike): Promise<Uint8Array> {
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoHMAC.sign(hash, key, toBase64(dataBytes)).then(Base64.toByteArray);
+        },
+        /**
+         * Compares in constant time
+         */
+        verify(hash: Hash, keyBytes: Uint8Array, dataBytes: BinaryLike, mac: BinaryLike): Promise<boolean> {
+            const key = Base64.fromByteArray(keyBytes);
+            return CryptoHMAC.verify(hash, key, toBase64(dataBytes), toBase64(mac));
+        }
+    },
+    KDF: {
+        /**
+         * PBKDF2 over the raw password bytes, derives length bytes.
+         * Encode a text password first, e.g. as UTF-8
+         */
+        pbkdf2(hash: Hash, passwordBytes: Uint8Array, saltBytes: BinaryLike, iterations: number,
+               length: number): Promise<Uint8Array> {
+            const password = Base64.fromByteArray(passwordBytes);
+            const salt = toBase64(saltBytes);
+            return CryptoKDF.pbkdf2(hash, password, salt, iterations, length).then(Base64.toByteArray);
+        },
+        /**
+         * HKDF extract and expand, derives length bytes
+         */
+        hkdf(hash: Hash, ikmBytes: Uint8Array, saltBytes: BinaryLike, infoBytes: BinaryLike,
+             length: number): Promise<Uint8Array> {
+            const ikm = Base64.fromByteArray(ikmBytes);
+            const salt = toBase64(saltBytes);
+            const info = toBase64(infoBytes);
+            return CryptoKDF.hkdf(hash, ikm, salt, info, length).then(Base64.toByteArray);
         }
     },
     RSA: {
@@ -93,11 +286,28 @@ export const Crypto = {
                 });
             });
         },
+        /**
+         * Rejects with code RSA_KEY_NOT_FOUND when the key was released or evicted
+         */
         verify(params: SigParams, key: RsaKey, dataBytes: Uint8Array, signature: Uint8Array): Promise<boolean> {
             const dataString = Base64.fromByteArray(dataBytes);
             const signatureString = Base64.fromByteArray(signature);
             return CryptoRSA.verify(params, key.uuid, dataString, signatureString);
         },
+        /**
+         * Verify many signatures against one key in one bridge call
+         */
+        verifyBatch(params: SigParams, key: RsaKey, items: SignatureBatchItem[]): Promise<BatchResult<boolean>[]> {
+            const nativeItems = items.map((item) => ({
+                data: toBase64(item.dataBytes),
+                signature: toBase64(item.signature)
+            }));
+            return CryptoRSA.verifyBatch(params, key.uuid, nativeItems).then(
+                (results: NativeBatchResult[]) => results.map((result) => (
+                    result.error !== undefined ? { error: result.error } : { value: result.valid }
+                ))
+            );
+        },
         encrypt(params: Pkcs1Params | OaepParams, key: RsaKey, dataBytes: Uint8Array): Promise<Uint8Array> {
             return new Promise((resolve, reject) => {
                 const dataString = Base64.fromByteArray(dataBytes);
@@ -121,10 +331,54 @@ export const Crypto = {
         generateKeyPair(modulusSize: ModulusSize): Promise<RsaKeyPair> {
             return CryptoRSA.generateKeyPair(modulusSize);
         },
+        /**
+         * Pending generateKeyPair() promises reject with code RSA_GENERATE_CANCELLED
+         */
+        cancelKeyGeneration(): void {
+            CryptoRSA.cancelKeyGeneration();
+        },
+        /**
+         * Opt in to keeping capacity key pairs pre-generated in memory, 0 turns the pool off
+         */
+        configureKeyPool(modulusSize: ModulusSize, capacity: number): void {
+            CryptoRSA.configureKeyPool(modulusSize, capacity);
+        },
+        /**
+         * Hits and misses count generateKeyPair() calls of modulusSize made while its pool was on
+         */
+        getKeyPoolStats(modulusSize: ModulusSize): Promise<KeyPoolStats> {
+            return CryptoRSA.getKeyPoolStats(modulusSize);
+        },
         importKey(format: KeyFormat, keyBytes: Uint8Array): Promise<RsaKey> {
             const keyString = Base64.fromByteArray(keyBytes);
             return CryptoRSA.importKey(format, keyString);
         },
+        /**
+         * Free the native key. Keys imported from the same bytes share one uuid,
+         * which is freed once every import of it is released
+         */
+        releaseKey(key: RsaKey): void {
+            CryptoRSA.releaseKey(key.uuid);
+        },
+        /**
+         * Android only. Generate a key pair in AndroidKeyStore under alias (Android 6.0+),
+         * StrongBox backed when asked and available. The private key cannot be exported.
+         * OAEP with these keys always uses MGF1 with SHA-1, the only one AndroidKeyStore takes
+         * before Android 14
+         */
+        generateKeyStoreKeyPair(alias: string, modulusSize: 2048 | 3072 | 4096,
+                                strongBox = false): Promise<RsaKeyPair> {
+            return CryptoRSA.generateKeyStoreKeyPair(alias, modulusSize, strongBox);
+        },
+        /**
+         * Android only. Key pair generated earlier under alias, loading again returns the same uuids
+         */
+        loadKeyStoreKeyPair(alias: string): Promise<RsaKeyPair> {
+            return CryptoRSA.loadKeyStoreKeyPair(alias);
+        },
+        deleteKeyStoreKey(alias: string): Promise<void> {
+            return CryptoRSA.deleteKeyStoreKey(alias);
+        },
         exportKey(format: KeyFormat, key: RsaKey): Promise<Uint8Array> {
             return new Promise((resolve, reject) => {
                 CryptoRSA.exportKey(format, key.uuid).then((keyString: string) => {
@@ -136,3 +390,35 @@ export const Crypto = {
         }
     }
 };
+
+function toDigestSession(handle: string): DigestSession {
+    return {
+        update(dataBytes: BinaryLike): Promise<void> {
+            return CryptoDigest.update(handle, toBase64(dataBytes));
+        },
+        clone(): Promise<DigestSession> {
+            return CryptoDigest.cloneDigest(handle).then(toDigestSession);
+        },
+        digest(): Promise<Uint8Array> {
+            return CryptoDigest.finishDigest(handle).then(Base64.toByteArray);
+        },
+        release(): void {
+            CryptoDigest.releaseDigest(handle);
+        }
+    };
+}
+
+interface NativeBatchResult {
+    digest?: string;
+    data?: string;
+    valid?: boolean;
+    error?: string;
+}
+
+function toBatchResult(base64?: string, error?: string): BatchResult<Uint8Array> {
+    return base64 !== undefined ? { value: Base64.toByteArray(base64) } : { error };
+}
+
+function toBase64(data: BinaryLike): string {
+    return typeof data === 'string' ? data : Base64.fromByteArray(data);
+}
@@ -20,11 +20,21 @@ import {
     requireNativeComponent,
     NativeSyntheticEvent,
     UIManager,
+    Platform,
+    Image,
+    ImageSourcePropType,
+    ColorValue,
+    processColor,
     findNodeHandle,
 } from 'react-native';
 
 interface Props<ItemT> {
     style: StyleProp<ViewStyle>;
+    /**
+     * Android only. Linear ignores numColumns, staggered packs items of different heights
+     * into the shortest column. iOS lays out a grid, linear as a single column
+     */
+    layout: ListLayout;
     listHeight: number;
     rowHeight: number;
     numColumns: number;
@@ -34,7 +44,43 @@ interface Props<ItemT> {
     clipItem: boolean;
     dataSet: ItemT[];
     renderItem: (itemInfo: ListItemInfo<ItemT>) => ReactElement;
+    /** Item dragged from one position to another, reported once per drag when it ends */
     onMoveItem: (from: number, to: number) => void;
+    /** Android only. Look of natively bound items, used together with getNativeItem */
+    itemTemplate?: NativeItemTemplate;
+    /** Android only. Data of a natively bound item, null to render it with renderItem */
+    getNativeItem?: (item: ItemT, position: number) => NativeItem | null;
+    /** Press on a natively bound item, position is the index of the item in dataSet */
+    onPressItem: (position: number) => void;
+    /**
+     * Android only. Stable key of an item, when given a new dataSet is diffed natively
+     * and only changed items are updated
+     */
+    keyExtractor?: (item: ItemT, position: number) => string;
+    /**
+     * Changes of dataSet are reported with insertRange, removeRange, moveItem and changeRange
+     * instead of refreshing the whole list. Ignored when keyExtractor is given
+     */
+    reportsUpdates?: boolean;
+    /** Android only. Columns taken by an item, e.g. numColumns for a section header */
+    getSpanSize?: (item: ItemT, position: number) => number;
+    /** Android only. Height of an item, rowHeight when not given */
+    getRowHeight?: (item: ItemT, position: number) => number;
+    /** Android only. Items bound ahead of the viewport on idle frames, 0 for one row */
+    prefetchItemCount: number;
+    /** Android only. Extra space laid out beyond each edge of the viewport */
+    extraLayoutSpace: number;
+    /**
+     * Android only. Title when the item is a section header, which is rendered natively
+     * after headerTemplate across a full row instead of with renderItem
+     */
+    getSectionHeader?: (item: ItemT, position: number) => string | null | undefined;
+    /** Android only. Look of section headers */
+    headerTemplate?: NativeHeaderTemplate;
+    /** Android only. Keep the header of the section at the top pinned while scrolling */
+    stickyHeaders: boolean;
+    /** Android only. Opts in to scroll metrics, reported when each scroll gesture comes to rest */
+    onScrollMetrics?: (metrics: ScrollMetrics) => void;
 }
 interface State {
     positions: number[];
@@ -49,17 +95,28 @@ export class GridList<ItemT> extends PureComponent<Props<ItemT>, State> {
 
     static defaultProps = {
         style: { flex: 1 },
+        layout: 'grid' as ListLayout,
         listHeight: undefined,
         numColumns: 1,
         dragEnabled: false,
         verticalSpacing: 0,
         horizontalSpacing: 0,
         clipItem: true,
-        onMoveItem: () => { }
+        onMoveItem: () => { },
+        onPressItem: () => { },
+        prefetchItemCount: 0,
+        extraLayoutSpace: 0,
+        stickyHeaders: true
     };
 
     private padding: Padding;
     private getIndexByPosition: { [key: number]: number };
+    private nativeData?: { dataSet: ItemT[]; data: NativeData };
+    private nativeTemplate?: { itemTemplate: NativeItemTemplate; template: object };
+    private itemKeys?: { dataSet: ItemT[]; keys: string[] };
+    private itemLayout?: { dataSet: ItemT[]; spanSizes?: number[]; rowHeights?: number[] };
+    private sections?: { dataSet: ItemT[]; data: SectionData };
+    private headerTemplate?: { headerTemplate?: NativeHeaderTemplate; template: object };
 
     constructor(props: Props<ItemT>) {
         super(props);
@@ -68,7 +125,12 @@ export class GridList<ItemT> extends PureComponent<Props<ItemT>, State> {
             || flattenedStyle.height
             || Dimensions.get('window').height;
         const rowHeight = props.rowHeight + props.verticalSpacing;
-        const childNum = Math.ceil((listHeight as number) / rowHeight) * props.numColumns + (3 + props.numColumns * 2);
+        // Android asks for more children with onRequestItems when it runs out, so one row of headroom will do
+        const numColumns = getNumColumns(props);
+        const extraNum = Platform.OS === 'android' ? numColumns : 3 + numColumns * 2;
+        // natively bound items need no children, custom ones are requested when first shown
+        const childNum = isNativeBound(props) ? 0
+            : Math.ceil((listHeight as number) / rowHeight) * numColumns + extraNum;
         const positions = [];
         for (let i = 0; i < childNum; i++) {
             positions.push(-1);
@@ -79,46 +141,260 @@ export class GridList<ItemT> extends PureComponent<Props<ItemT>, State> {
         this.padding = { top: 0, right: 0, bottom: 0, left: 0 };
         this.getIndexByPosition = {};
         this.onBindItem = this.onBindItem.bind(this);
+        this.onBindItems = this.onBindItems.bind(this);
         this.onMoveItem = this.onMoveItem.bind(this);
+        this.onMoveCommitted = this.onMoveCommitted.bind(this);
+        this.onRequestItems = this.onRequestItems.bind(this);
+        this.onPressItem = this.onPressItem.bind(this);
+        this.onScrollMetrics = this.onScrollMetrics.bind(this);
         calculatePadding(this.padding, flattenedStyle);
     }
 
     componentDidUpdate(prevProps: Props<ItemT>, prevState: State) {
-        if (prevProps.dataSet !== this.props.dataSet) {
+        // keyed data sets are diffed natively, reported ones are updated by range
+        if (prevProps.dataSet !== this.props.dataSet && !this.getItemKeys()
+            && !this.props.reportsUpdates) {
             this.refreshDataSet();
         }
     }
 
+    /**
+     * Tell the list count items were inserted at position, after dataSet has been updated.
+     * Only takes effect with reportsUpdates, and is ignored when keyExtractor is given
+     */
+    insertRange(position: number, count: number): void {
+        this.dispatchUpdate('insertRange', [position, count]);
+    }
+
+    removeRange(position: number, count: number): void {
+        this.dispatchUpdate('removeRange', [position, count]);
+    }
+
+    moveItem(fromPosition: number, toPosition: number): void {
+        this.dispatchUpdate('moveItem', [fromPosition, toPosition]);
+    }
+
+    changeRange(position: number, count: number): void {
+        this.dispatchUpdate('changeRange', [position, count]);
+    }
+
     private onBindItem(event: NativeSyntheticEvent<BindEvent>): void {
         const { index, position } = event.nativeEvent;
+        this.bindItems([index], [position]);
+    }
+
+    /**
+     * All binds of one native frame, applied in a single state update
+     */
+    private onBindItems(event: NativeSyntheticEvent<BindItemsEvent>): void {
+        const { indices, positions } = event.nativeEvent;
+        this.bindItems(indices, positions);
+    }
+
+    private bindItems(indices: number[], boundPositions: number[]): void {
         const positions = [...this.state.positions];
-        const originalPosition = positions[index];
-        delete this.getIndexByPosition[originalPosition];
-        positions[index] = position;
-        this.getIndexByPosition[position] = index;
+        for (let i = 0; i < indices.length; i++) {
+            const index = indices[i];
+            const position = boundPositions[i];
+            const originalPosition = positions[index];
+            if (this.getIndexByPosition[originalPosition] === index) {
+                delete this.getIndexByPosition[originalPosition];
+            }
+            positions[index] = position;
+            this.getIndexByPosition[position] = index;
+        }
         this.setState({ positions });
     }
 
+    /**
+     * iOS reports the move when the item is dropped
+     */
     private onMoveItem(event: NativeSyntheticEvent<MoveEvent>): void {
         const { fromPosition, toPosition } = event.nativeEvent;
-        const positions = [...this.state.positions];
-        if (fromPosition < toPosition) {
-            for (let i = toPosition; i > fromPosition; i--) {
-                const index = this.getIndexByPosition[i];
-                positions[index] = positions[index] - 1;
+        this.applyMove(fromPosition, toPosition);
+    }
+
+    /**
+     * Android keeps the order natively while dragging and reports the whole move once it ends
+     */
+    private onMoveCommitted(event: NativeSyntheticEvent<MoveEvent>): void {
+        const { fromPosition, toPosition } = event.nativeEvent;
+        this.applyMove(fromPosition, toPosition);
+    }
+
+    private applyMove(fromPosition: number, toPosition: number): void {
+        const positions = this.state.positions.map((position) => {
+            if (position === fromPosition) {
+                return toPosition;
             }
-        } else {
-            for (let i = toPosition; i < fromPosition; i++) {
-                const index = this.getIndexByPosition[i];
-                positions[index] = positions[index] + 1;
+            if (fromPosition < toPosition && position > fromPosition && position <= toPosition) {
+                return position - 1;
             }
-        }
-        const fromIndex = this.getIndexByPosition[fromPosition];
-        positions[fromIndex] = toPosition;
+            if (toPosition < fromPosition && position >= toPosition && position < fromPosition) {
+                return position + 1;
+            }
+            return position;
+        });
+        this.getIndexByPosition = {};
+        positions.forEach((position, index) => {
+            if (position >= 0) {
+                this.getIndexByPosition[position] = index;
+            }
+        });
         this.setState({ positions });
         this.props.onMoveItem(fromPosition, toPosition);
     }
 
+    private onRequestItems(event: NativeSyntheticEvent<RequestItemsEvent>): void {
+        const { count } = event.nativeEvent;
+        this.setState((state) => ({ positions: state.positions.concat(new Array(count).fill(-1)) }));
+    }
+
+    /**
+     * Keyed items are looked up by key, the native position may be ahead of or behind dataSet
+     * while a diff or a drag is pending
+     */
+    private onPressItem(event: NativeSyntheticEvent<PressEvent>): void {
+        const { position, key } = event.nativeEvent;
+        const keys = this.getItemKeys();
+        if (key === undefined || !keys) {
+            this.props.onPressItem(position);
+            return;
+        }
+        const index = keys.indexOf(key);
+        // pressed just as it was removed
+        if (index >= 0) {
+            this.props.onPressItem(index);
+        }
+    }
+
+    private onScrollMetrics(event: NativeSyntheticEvent<ScrollMetrics>): void {
+        this.props.onScrollMetrics?.(event.nativeEvent);
+    }
+
+    /**
+     * Parallel arrays of the natively bound item data, rebuilt only when dataSet changes
+     */
+    private getNativeData(): NativeData | undefined {
+        const { dataSet, getNativeItem } = this.props;
+        if (!isNativeBound(this.props) || !getNativeItem) {
+            return undefined;
+        }
+        if (!this.nativeData || this.nativeData.dataSet !== dataSet) {
+            const data: NativeData = { titles: [], icons: [], badges: [], custom: [] };
+            dataSet.forEach((item, position) => {
+                const nativeItem = getNativeItem(item, position);
+                data.titles.push(nativeItem ? nativeItem.title : null);
+                data.icons.push(nativeItem && nativeItem.icon || null);
+                data.badges.push(nativeItem && nativeItem.badge || null);
+                data.custom.push(!nativeItem);
+            });
+            this.nativeData = { dataSet, data };
+        }
+        return this.nativeData.data;
+    }
+
+    private getNativeTemplate(): object | undefined {
+        const { itemTemplate } = this.props;
+        if (!isNativeBound(this.props) || !itemTemplate) {
+            return undefined;
+        }
+        if (!this.nativeTemplate || this.nativeTemplate.itemTemplate !== itemTemplate) {
+            const { placeholder, iconBackgroundColor, rippleColor, titleColor, badgeColor, badgeTextColor } = itemTemplate;
+            const template = {
+                ...itemTemplate,
+                placeholder: placeholder ? Image.resolveAssetSource(placeholder).uri : undefined,
+                iconBackgroundColor: processColor(iconBackgroundColor),
+                rippleColor: processColor(rippleColor),
+                titleColor: processColor(titleColor),
+                badgeColor: processColor(badgeColor),
+                badgeTextColor: processColor(badgeTextColor)
+            };
+            this.nativeTemplate = { itemTemplate, template };
+        }
+        return this.nativeTemplate.template;
+    }
+
+    private getItemKeys(): string[] | undefined {
+        const { dataSet, keyExtractor } = this.props;
+        if (Platform.OS !== 'android' || !keyExtractor) {
+            return undefined;
+        }
+        if (!this.itemKeys || this.itemKeys.dataSet !== dataSet) {
+            this.itemKeys = { dataSet, keys: dataSet.map(keyExtractor) };
+        }
+        return this.itemKeys.keys;
+    }
+
+    /**
+     * Per item span sizes and heights as compact number arrays, rebuilt only when dataSet changes
+     */
+    private getItemLayout(): { spanSizes?: number[]; rowHeights?: number[] } {
+        const { dataSet, getSpanSize, getRowHeight } = this.props;
+        if (Platform.OS !== 'android') {
+            return {};
+        }
+        if (!this.itemLayout || this.itemLayout.dataSet !== dataSet) {
+            this.itemLayout = {
+                dataSet,
+                spanSizes: getSpanSize && dataSet.map(getSpanSize),
+                rowHeights: getRowHeight && dataSet.map(getRowHeight)
+            };
+        }
+        return this.itemLayout;
+    }
+
+    /**
+     * Positions of the section headers with their titles, rebuilt only when dataSet changes
+     */
+    private getSections(): SectionData | undefined {
+        const { dataSet, getSectionHeader } = this.props;
+        if (Platform.OS !== 'android' || !getSectionHeader) {
+            return undefined;
+        }
+        if (!this.sections || this.sections.dataSet !== dataSet) {
+            const data: SectionData = { offsets: [], titles: [] };
+            dataSet.forEach((item, position) => {
+                const title = getSectionHeader(item, position);
+                if (title != null) {
+                    data.offsets.push(position);
+                    data.titles.push(title);
+                }
+            });
+            this.sections = { dataSet, data };
+        }
+        return this.sections.data;
+    }
+
+    private getHeaderTemplate(): object | undefined {
+        const { getSectionHeader, headerTemplate } = this.props;
+        if (Platform.OS !== 'android' || !getSectionHeader) {
+            return undefined;
+        }
+        if (!this.headerTemplate || this.headerTemplate.headerTemplate !== headerTemplate) {
+            const { backgroundColor, titleColor } = headerTemplate || {};
+            const template = {
+                ...headerTemplate,
+                backgroundColor: processColor(backgroundColor),
+                titleColor: processColor(titleColor)
+            };
+            this.headerTemplate = { headerTemplate, template };
+        }
+        return this.headerTemplate.template;
+    }
+
+    private dispatchUpdate(command: string, args: number[]): void {
+        if (Platform.OS !== 'android') {
+            this.refreshDataSet();
+            return;
+        }
+        UIManager.dispatchViewManagerCommand(
+            findNodeHandle(this),
+            command as any,
+            args
+        );
+    }
+
     private refreshDataSet(): void {
         UIManager.dispatchViewManagerCommand(
             findNodeHandle(this),
@@ -129,19 +405,37 @@ export class GridList<ItemT> extends PureComponent<Props<ItemT>, State> {
 
     render() {
         const { dataSet } = this.props;
+        const { spanSizes, rowHeights } = this.getItemLayout();
         return (
             <NativeGridList
                 style={this.props.style}
+                layout={this.props.layout}
                 itemCount={dataSet.length}
                 rowHeight={this.props.rowHeight}
-                numColumns={this.props.numColumns}
+                numColumns={getNumColumns(this.props)}
                 dragEnabled={this.props.dragEnabled}
                 verticalSpacing={this.props.verticalSpacing}
                 horizontalSpacing={this.props.horizontalSpacing}
                 paddingInsets={this.padding}
                 clipItem={this.props.clipItem}
+                prefetchItemCount={this.props.prefetchItemCount}
+                extraLayoutSpace={this.props.extraLayoutSpace}
+                itemTemplate={this.getNativeTemplate()}
+                nativeData={this.getNativeData()}
+                itemKeys={this.getItemKeys()}
+                spanSizes={spanSizes}
+                rowHeights={rowHeights}
+                sections={this.getSections()}
+                headerTemplate={this.getHeaderTemplate()}
+                stickyHeaders={this.props.stickyHeaders}
+                metricsEnabled={!!this.props.onScrollMetrics}
+                onScrollMetrics={this.onScrollMetrics}
+                onPressItem={this.onPressItem}
                 onBindItem={this.onBindItem}
-                onMoveItem={this.onMoveItem}>
+                onBindItems={this.onBindItems}
+                onMoveItem={this.onMoveItem}
+                onMoveCommitted={this.onMoveCommitted}
+                onRequestItems={this.onRequestItems}>
                 {this.state.positions.map((position, index) => {
                     return (
                         <GridListItem
@@ -157,6 +451,33 @@ export class GridList<ItemT> extends PureComponent<Props<ItemT>, State> {
     }
 }
 
+/**
+ * Single column list on the same native recycling core as GridList, items span the full width
+ *
+ * @author Lingqi
+ */
+export class LinearList<ItemT> extends GridList<ItemT> {
+
+    static defaultProps = {
+        ...GridList.defaultProps,
+        layout: 'linear' as ListLayout
+    };
+}
+
+/**
+ * Grid with items of different heights, each placed in the shortest column.
+ * Heights come from getRowHeight, items spanning numColumns take a row of their own
+ *
+ * @author Lingqi
+ */
+export class StaggeredGridList<ItemT> extends GridList<ItemT> {
+
+    static defaultProps = {
+        ...GridList.defaultProps,
+        layout: 'staggered' as ListLayout
+    };
+}
+
 interface ItemProps<ItemT> {
     position: number;
     index: number;
@@ -178,6 +499,70 @@ class GridListItem<ItemT> extends PureComponent<ItemProps<ItemT>> {
 
 const NativeGridList = requireNativeComponent('GridList');
 
+export type ListLayout = 'grid' | 'linear' | 'staggered';
+
+/**
+ * Look of natively bound items: an icon with an optional badge bar across its bottom
+ * and a title below. Lengths in dp, text sizes in sp
+ */
+export interface NativeItemTemplate {
+    iconSize: number;
+    iconRadius?: number;
+    iconBackgroundColor?: ColorValue;
+    iconElevation?: number;
+    rippleColor?: ColorValue;
+    placeholder?: ImageSourcePropType;
+    titleMarginTop?: number;
+    titleSize?: number;
+    titleColor?: ColorValue;
+    titleLines?: number;
+    badgeHeight?: number;
+    badgeColor?: ColorValue;
+    badgeTextSize?: number;
+    badgeTextColor?: ColorValue;
+}
+/**
+ * Look of natively rendered section headers: a single line title on a full width bar.
+ * Lengths in dp, text sizes in sp
+ */
+export interface NativeHeaderTemplate {
+    height?: number;
+    paddingHorizontal?: number;
+    backgroundColor?: ColorValue;
+    titleSize?: number;
+    titleColor?: ColorValue;
+}
+export interface NativeItem {
+    title: string;
+    icon?: string;
+    badge?: string;
+}
+interface NativeData {
+    titles: (string | null)[];
+    icons: (string | null)[];
+    badges: (string | null)[];
+    custom: boolean[];
+}
+/**
+ * Scroll performance over one scroll gesture, drag and fling. Bind latency runs from
+ * a React rendered item being bound to its update being drawn, Android 8 and later only
+ */
+export interface ScrollMetrics {
+    durationMillis: number;
+    frameIntervalMillis: number;
+    frames: number;
+    jankyFrames: number;
+    droppedFrames: number;
+    maxFrameMillis: number;
+    binds: number;
+    avgBindLatencyMillis: number;
+    maxBindLatencyMillis: number;
+    holdersCreated: number;
+}
+interface SectionData {
+    offsets: number[];
+    titles: string[];
+}
 export interface ListItemInfo<ItemT> {
     position: number;
     item?: ItemT;
@@ -186,11 +571,20 @@ interface BindEvent {
     index: number;
     position: number;
 }
+interface BindItemsEvent {
+    indices: number[];
+    positions: number[];
+}
+interface PressEvent {
+    position: number;
+    key?: string;
+}
+interface RequestItemsEvent {
+    count: number;
+}
 interface MoveEvent {
     fromPosition: number;
     toPosition: number;
-    fromIndex: number;
-    toIndex: number;
 }
 interface Padding {
     top: number;
@@ -199,6 +593,14 @@ interface Padding {
     left: number;
 }
 
+function getNumColumns<ItemT>(props: Props<ItemT>): number {
+    return props.layout === 'linear' ? 1 : props.numColumns;
+}
+
+function isNativeBound<ItemT>(props: Props<ItemT>): boolean {
+    return Platform.OS === 'android' && !!props.itemTemplate && !!props.getNativeItem;
+}
+
 function calculatePadding(padding: Padding, style: ViewStyle) {
     padding.top = (style.paddingTop || style.paddingVertical || style.padding || padding.top) as number;
     padding.right = (style.paddingRight || style.paddingHorizontal || style.padding || padding.right) as number;
@@ -22,7 +22,12 @@ import {
     View,
 } from "react-native";
 import FastImage from "react-native-fast-image";
-import { GridList, ListItemInfo } from "../../../nativeUtils/GridList";
+import {
+    GridList,
+    ListItemInfo,
+    NativeItem,
+    NativeItemTemplate,
+} from "../../../nativeUtils/GridList";
 import { MaterialButton } from "../../../shared-components/MaterialButton";
 import { AppListStore, MobileApp } from "../../../stores/AppListStore";
 import { CallbackStore } from "../../../stores/CallbackStore";
@@ -42,6 +47,32 @@ const H_SPACING = (SCREEN_WIDTH - ICON_WIDTH * COLS) / (COLS + 1);
 const V_SPACING = 24;
 const ROW_HEIGHT = ICON_WIDTH + 40;
 
+/** Same look as HomeGridItem, bound natively on Android so fast scrolls show no blank cells */
+const ITEM_TEMPLATE: NativeItemTemplate = {
+    iconSize: ICON_WIDTH,
+    iconRadius: 16,
+    iconBackgroundColor: "white",
+    iconElevation: 1,
+    rippleColor: Colors.cathyBlueOverlay,
+    placeholder: require("../../../assets/image/placeholder.png"),
+    titleMarginTop: 8,
+    titleSize: 14,
+    titleColor: Colors.helperText,
+    titleLines: 2,
+    badgeHeight: 27,
+    badgeColor: Colors.scrimColor,
+    badgeTextSize: 15,
+    badgeTextColor: "white",
+};
+
+const keyExtractor = (app: MobileApp): string => app.appId;
+
+const getNativeItem = (app: MobileApp): NativeItem => ({
+    title: app.title,
+    icon: app.icon,
+    badge: app.appType === "WEB" ? "WEB" : undefined,
+});
+
 interface Props {
     callbackStore: CallbackStore;
     appListStore: AppListStore;
@@ -112,11 +143,16 @@ const HomeGridScreen: FC<Props> = inject(({ rootStore }: AllStores) => ({
                 style={styles.gridView}
                 rowHeight={ROW_HEIGHT}
                 numColumns={COLS}
+                prefetchItemCount={COLS * 2}
                 verticalSpacing={V_SPACING}
                 horizontalSpacing={H_SPACING}
                 clipItem={false}
                 dataSet={appListStore.appList}
                 renderItem={renderItem}
+                itemTemplate={ITEM_TEMPLATE}
+                getNativeItem={getNativeItem}
+                keyExtractor={keyExtractor}
+                onPressItem={onItemPress}
             />
         );
     })
@@ -21,7 +21,7 @@ import {
     View,
 } from "react-native";
 import FastImage from "react-native-fast-image";
-import { GridList, ListItemInfo } from "../../../nativeUtils/GridList";
+import { LinearList, ListItemInfo } from "../../../nativeUtils/GridList";
 import { MaterialButton } from "../../../shared-components/MaterialButton";
 import { AppListStore, MobileApp } from "../../../stores/AppListStore";
 import { CallbackStore } from "../../../stores/CallbackStore";
@@ -38,6 +38,8 @@ interface ItemProps {
     onPress: () => void;
 }
 
+const keyExtractor = (app: MobileApp): string => app.appId;
+
 /**
  * List layout of mobile app list
  *
@@ -99,10 +101,11 @@ const HomeListScreen: FC<Props> = inject(({ rootStore }: AllStores) => ({
         );
 
         return (
-            <GridList
+            <LinearList
                 style={styles.listView}
                 rowHeight={88}
                 dataSet={appListStore.appList}
+                keyExtractor={keyExtractor}
                 renderItem={renderItem}
             />
         );
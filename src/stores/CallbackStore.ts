@@ -47,8 +47,11 @@ export class CallbackStore {
                 sign.substring(0, this.KEY_SIZE / 8)
             );
             const ivBytes = new Uint8Array(16);
-            const dataBytes = Base64.toByteArray(data);
-            Crypto.AES.decrypt("CBC", ivBytes, secretKeyBytes, dataBytes)
+            // data is already Base64, pass it through instead of decoding and re-encoding
+            const dataString = data.replace(/[-_]/g, (c) =>
+                c === "-" ? "+" : "/"
+            );
+            Crypto.AES.decrypt("CBC", ivBytes, secretKeyBytes, dataString)
                 .then((queryBytes) => {
                     const query = URI.parseQuery(
                         "?" + this.decode(queryBytes)
@@ -65,29 +68,23 @@ export class CallbackStore {
                         scheme: "PKCS1-v1_5",
                         hash: "SHA-256",
                     };
-                    if (this.publicKey) {
-                        return Crypto.RSA.verify(
+                    const verify = (publicKey: RsaKey) =>
+                        Crypto.RSA.verify(
                             sigParams,
-                            this.publicKey,
+                            publicKey,
                             verifyBytes,
                             signature
                         );
-                    } else {
-                        const keyBytes = this.pemToBinary(
-                            Environment.publicKey
-                        );
-                        return Crypto.RSA.importKey("spki", keyBytes).then(
-                            (publicKey) => {
-                                this.publicKey = publicKey;
-                                return Crypto.RSA.verify(
-                                    sigParams,
-                                    this.publicKey,
-                                    verifyBytes,
-                                    signature
-                                );
-                            }
-                        );
+                    if (!this.publicKey) {
+                        return this.importPublicKey().then(verify);
                     }
+                    return verify(this.publicKey).catch((error: any) => {
+                        // the native cache evicts keys left idle, import it again
+                        if (error.code !== "RSA_KEY_NOT_FOUND") {
+                            throw error;
+                        }
+                        return this.importPublicKey().then(verify);
+                    });
                 })
                 .then((verified) => {
                     if (verified) {
@@ -174,6 +171,14 @@ export class CallbackStore {
         return String.fromCharCode.apply(null, codes);
     }
 
+    private importPublicKey(): Promise<RsaKey> {
+        const keyBytes = this.pemToBinary(Environment.publicKey);
+        return Crypto.RSA.importKey("spki", keyBytes).then((publicKey) => {
+            this.publicKey = publicKey;
+            return publicKey;
+        });
+    }
+
     private pemToBinary(pem: string): Uint8Array {
         const lines = pem.split("\n");
         let pemContents = "";